@@ -0,0 +1,44 @@
+package com.microservices.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ *
+ * Acepta las mismas opciones que JMH (-f, -wi, -i, -prof, filtros por nombre...). Si no se indica
+ * -rf/-rff, los resultados se guardan en JSON en jmh-results/ para comparar entre versiones.
+ */
+public class BenchmarkMain {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResult().hasValue() && !commandLine.getResultFormat().hasValue()) {
+            Path results = Paths.get("jmh-results");
+            Files.createDirectories(results);
+            options.resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve(LocalDateTime.now().format(TIMESTAMP) + ".json").toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
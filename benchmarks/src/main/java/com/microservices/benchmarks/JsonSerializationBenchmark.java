@@ -0,0 +1,93 @@
+package com.microservices.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.entity.OrderItem;
+import com.microservices.productservice.dto.ProductResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización y deserialización JSON de OrderResponseDto y ProductResponseDto con un
+ * ObjectMapper configurado como el de los servicios (fechas ISO-8601, no timestamps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "50"})
+    private int orderLines;
+
+    private ObjectMapper objectMapper;
+
+    private OrderResponseDto order;
+    private byte[] orderJson;
+    private ProductResponseDto product;
+    private byte[] productJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        Order entity = new Order("cliente@example.com", "Cliente Benchmark");
+        entity.setId(1L);
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        for (int i = 1; i <= orderLines; i++) {
+            OrderItem item = new OrderItem((long) i, "Producto " + i, i % 5 + 1, new BigDecimal("19.99"));
+            item.setId((long) i);
+            entity.addItem(item);
+        }
+        order = new OrderResponseDto(entity);
+        orderJson = objectMapper.writeValueAsBytes(order);
+
+        product = new ProductResponseDto(1L, "Laptop Dell XPS 13", "Ultrabook de 13 pulgadas",
+                new BigDecimal("1299.99"), 25, now, now);
+        productJson = objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws IOException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderResponseDto deserializeOrder() throws IOException {
+        return objectMapper.readValue(orderJson, OrderResponseDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws IOException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductResponseDto deserializeProduct() throws IOException {
+        return objectMapper.readValue(productJson, ProductResponseDto.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.microservices.benchmarks;
+
+import com.microservices.orderservice.service.OrderMetrics;
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
+import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductMetrics;
+import com.microservices.productservice.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de la instrumentación Micrometer en los caminos calientes.
+ *
+ * Con registry=prometheus los medidores son los de producción (registro Prometheus con
+ * histogramas de percentiles); con registry=noop se desactivan con
+ * management.metrics.enable.products=false y OrderMetrics usa un registro compuesto vacío,
+ * así que cada llamada solo paga un medidor no-op. La diferencia en checkAvailability es el
+ * sobrecoste por verificación; los record* miden el medidor aislado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final int REQUESTS = 1024;
+
+    @Param({"prometheus", "noop"})
+    private String registry;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductMetrics productMetrics;
+    private OrderMetrics orderMetrics;
+
+    private AvailabilityCheckRequestDto[] requests;
+    private long[] durations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean enabled = "prometheus".equals(registry);
+        context = ServiceContexts.start("product-service", new Class<?>[] {ProductServiceApplication.class},
+                "spring.datasource.url=jdbc:h2:mem:benchmetrics",
+                "management.metrics.enable.products=" + enabled);
+        productService = context.getBean(ProductService.class);
+        productMetrics = context.getBean(ProductMetrics.class);
+
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        if ((meterRegistry.find("products.availability.check").timer() != null) != enabled) {
+            throw new IllegalStateException("Los medidores de products.* no siguen registry=" + registry);
+        }
+        orderMetrics = new OrderMetrics(enabled ? meterRegistry : new CompositeMeterRegistry());
+
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(new Product("Producto " + i, "Benchmark", BigDecimal.valueOf(10 + i % 90), 1_000));
+        }
+        List<Long> ids = context.getBean(ProductRepository.class).saveAll(catalog).stream()
+                .map(Product::getId)
+                .toList();
+
+        Random random = new Random(42);
+        requests = new AvailabilityCheckRequestDto[REQUESTS];
+        durations = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = new AvailabilityCheckRequestDto(ids.get(random.nextInt(ids.size())), 1 + random.nextInt(5));
+            // Duraciones repartidas por los buckets del histograma (100 µs - 10 s)
+            durations[i] = 100_000L + random.nextInt(50_000_000);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AvailabilityCheckResponseDto checkAvailability() {
+        return productService.checkAvailability(requests[nextIndex()]);
+    }
+
+    @Benchmark
+    public void recordAvailabilityCheck() {
+        productMetrics.recordAvailabilityCheck(durations[nextIndex()]);
+    }
+
+    @Benchmark
+    public void recordCreateOrder() {
+        orderMetrics.recordCreateOrder(durations[nextIndex()], null);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % REQUESTS;
+        return next;
+    }
+}
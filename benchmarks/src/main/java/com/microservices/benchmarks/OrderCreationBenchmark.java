@@ -0,0 +1,97 @@
+package com.microservices.benchmarks;
+
+import com.microservices.orderservice.OrderServiceApplication;
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.createOrder de extremo a extremo dentro de Order Service (H2 en memoria),
+ * con Product Service sustituido por StubProductServiceClient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderRequestDto request;
+
+    @Configuration
+    static class StubProductServiceConfig {
+
+        @Bean
+        @Primary
+        public ProductServiceClient stubProductServiceClient() {
+            return new StubProductServiceClient();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start("order-service",
+                new Class<?>[] {OrderServiceApplication.class, StubProductServiceConfig.class},
+                "spring.datasource.url=jdbc:h2:mem:benchorders");
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<OrderItemRequestDto> items = new ArrayList<>();
+        for (int i = 1; i <= lines; i++) {
+            items.add(new OrderItemRequestDto((long) i, 1 + i % 3));
+        }
+        request = new OrderRequestDto("benchmark@example.com", "Benchmark", items);
+    }
+
+    /**
+     * Las tablas no deben crecer entre iteraciones y sesgar las siguientes
+     */
+    @TearDown(Level.Iteration)
+    public void clearOrders() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDto createOrder() {
+        return orderService.createOrder(request);
+    }
+}
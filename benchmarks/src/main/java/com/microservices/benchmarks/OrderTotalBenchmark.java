@@ -0,0 +1,58 @@
+package com.microservices.benchmarks;
+
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.entity.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order.calculateTotalAmount sobre carritos grandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int cartSize;
+
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<OrderItem> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            items.add(new OrderItem((long) i, "Producto " + i, 1 + random.nextInt(10), unitPrice));
+        }
+        // setItems evita recalcular el total en cada addItem durante la preparación
+        order = new Order("benchmark@example.com", "Benchmark");
+        order.setItems(items);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+}
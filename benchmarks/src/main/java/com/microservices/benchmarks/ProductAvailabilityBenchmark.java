@@ -0,0 +1,127 @@
+package com.microservices.benchmarks;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
+import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.AvailabilityCode;
+import com.microservices.productservice.service.LeanAvailabilityService;
+import com.microservices.productservice.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.checkAvailability y checkAvailabilityBatch sobre un catálogo en H2,
+ * con la caché de productos activa como en producción, frente al modo lean
+ * (LeanAvailabilityService). Con -prof gc se compara la memoria reservada por verificación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductAvailabilityBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final int REQUESTS = 1024;
+
+    @Param({"50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private LeanAvailabilityService leanAvailabilityService;
+
+    private AvailabilityCheckRequestDto[] singleRequests;
+    private List<List<AvailabilityCheckRequestDto>> batchRequests;
+    private long[] productIds;
+    private int[] quantities;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start("product-service", new Class<?>[] {ProductServiceApplication.class},
+                "spring.datasource.url=jdbc:h2:mem:benchavailability");
+        productService = context.getBean(ProductService.class);
+        leanAvailabilityService = context.getBean(LeanAvailabilityService.class);
+
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(new Product("Producto " + i, "Benchmark", BigDecimal.valueOf(10 + i % 90), 1_000));
+        }
+        List<Long> ids = context.getBean(ProductRepository.class).saveAll(catalog).stream()
+                .map(Product::getId)
+                .toList();
+
+        Random random = new Random(42);
+        singleRequests = new AvailabilityCheckRequestDto[REQUESTS];
+        batchRequests = new ArrayList<>();
+        productIds = new long[REQUESTS];
+        quantities = new int[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            singleRequests[i] = randomRequest(ids, random);
+            productIds[i] = singleRequests[i].getProductId();
+            quantities[i] = singleRequests[i].getQuantity();
+            List<AvailabilityCheckRequestDto> batch = new ArrayList<>();
+            for (int j = 0; j < batchSize; j++) {
+                batch.add(randomRequest(ids, random));
+            }
+            batchRequests.add(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AvailabilityCheckResponseDto checkAvailability() {
+        return productService.checkAvailability(singleRequests[nextIndex()]);
+    }
+
+    @Benchmark
+    public AvailabilityCheckResponseDto checkAvailabilityLean() {
+        return leanAvailabilityService.checkAvailability(singleRequests[nextIndex()]);
+    }
+
+    @Benchmark
+    public AvailabilityCode checkLean() {
+        int i = nextIndex();
+        return leanAvailabilityService.check(productIds[i], quantities[i]);
+    }
+
+    @Benchmark
+    public List<AvailabilityCheckResponseDto> checkAvailabilityBatch() {
+        return productService.checkAvailabilityBatch(batchRequests.get(nextIndex()));
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % REQUESTS;
+        return next;
+    }
+
+    private static AvailabilityCheckRequestDto randomRequest(List<Long> ids, Random random) {
+        return new AvailabilityCheckRequestDto(ids.get(random.nextInt(ids.size())), 1 + random.nextInt(5));
+    }
+}
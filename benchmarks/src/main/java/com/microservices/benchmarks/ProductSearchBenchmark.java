@@ -0,0 +1,70 @@
+package com.microservices.benchmarks;
+
+import com.microservices.productservice.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductSearchIndex.search sobre un catálogo sintético de hasta un millón de productos,
+ * sin Spring ni base de datos: el índice se llena con index(...) como tras cada alta.
+ *
+ * Las consultas van de un término muy selectivo a un prefijo corto que coincide con
+ * buena parte del catálogo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchBenchmark {
+
+    private static final String[] NOUNS = {"laptop", "monitor", "teclado", "ratón", "auriculares", "cámara",
+            "impresora", "tablet", "altavoz", "router", "disco", "memoria", "cargador", "funda", "micrófono"};
+    private static final String[] BRANDS = {"dell", "hp", "lenovo", "asus", "acer", "samsung", "lg", "sony",
+            "logitech", "apple", "xiaomi", "philips"};
+    private static final String[] ADJECTIVES = {"ultra", "pro", "mini", "max", "inalámbrico", "gaming",
+            "portátil", "compacto", "silencioso", "ergonómico", "plegable", "táctil"};
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    @Param({"x4217", "dell gaming", "laptop", "lap", "ul"})
+    private String query;
+
+    @Param({"20"})
+    private int limit;
+
+    private ProductSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ProductSearchIndex(500, 1000);
+        Random random = new Random(42);
+        for (long id = 1; id <= products; id++) {
+            String name = NOUNS[random.nextInt(NOUNS.length)] + " " + BRANDS[random.nextInt(BRANDS.length)]
+                    + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " x" + random.nextInt(10_000);
+            String description = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " con "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " de regalo";
+            index.index(id, name, description);
+        }
+    }
+
+    @Benchmark
+    public ProductSearchIndex.SearchHits search() {
+        return index.search(query, limit);
+    }
+}
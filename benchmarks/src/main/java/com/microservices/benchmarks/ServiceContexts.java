@@ -0,0 +1,62 @@
+package com.microservices.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arranque en proceso de los contextos Spring de cada servicio, sin servidor web (benchmarks JMH)
+ * o con Tomcat en un puerto libre (pruebas de carga).
+ *
+ * Cada servicio usa su application.yml real (copiado por el pom en classpath:{servicio}/), de modo
+ * que caché, batching de Hibernate, outbox y métricas se comportan como en producción. Solo se
+ * silencian los logs y el SQL, y no se cargan los datos de ejemplo.
+ */
+public final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    public static ConfigurableApplicationContext start(String service, Class<?>[] sources, String... properties) {
+        return run(service, WebApplicationType.NONE, sources, properties);
+    }
+
+    /**
+     * Arranca el servicio con servidor web en un puerto libre (ver {@link #port})
+     */
+    public static ConfigurableApplicationContext startServer(String service, Class<?>[] sources, String... properties) {
+        String[] withPort = Arrays.copyOf(properties, properties.length + 1);
+        withPort[properties.length] = "server.port=0";
+        return run(service, WebApplicationType.SERVLET, sources, withPort);
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext run(String service, WebApplicationType webType,
+                                                      Class<?>[] sources, String... properties) {
+        String basePackage = "com.microservices." + service.replace("-", "");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.location=classpath:" + service + "/application.yml",
+                "--spring.main.banner-mode=off",
+                "--spring.sql.init.mode=never",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level." + basePackage + "=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.deprecation=ERROR",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        Arrays.stream(properties).map(property -> "--" + property).forEach(args::add);
+
+        return new SpringApplicationBuilder(sources)
+                .web(webType)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,88 @@
+package com.microservices.benchmarks;
+
+import com.microservices.productservice.ProductServiceApplication;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.reduceStock con UPDATE condicional en base de datos o con el ledger de stock
+ * en memoria (app.stock-ledger.enabled). Incluye el evento de outbox de cada reducción.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockReductionBenchmark {
+
+    private static final int CATALOG_SIZE = 100;
+
+    @Param({"false", "true"})
+    private boolean stockLedger;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private JdbcTemplate jdbcTemplate;
+
+    private Long[] productIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start("product-service", new Class<?>[] {ProductServiceApplication.class},
+                "spring.datasource.url=jdbc:h2:mem:benchstock",
+                "app.stock-ledger.enabled=" + stockLedger);
+        productService = context.getBean(ProductService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // Stock suficiente para que ninguna reducción falle durante la medición
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(new Product("Producto " + i, "Benchmark", BigDecimal.TEN, Integer.MAX_VALUE));
+        }
+        productIds = context.getBean(ProductRepository.class).saveAll(catalog).stream()
+                .map(Product::getId)
+                .toArray(Long[]::new);
+    }
+
+    /**
+     * La tabla de outbox no debe crecer entre iteraciones y sesgar las siguientes
+     */
+    @TearDown(Level.Iteration)
+    public void clearOutbox() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean reduceStock() {
+        next = (next + 1) % CATALOG_SIZE;
+        return productService.reduceStock(productIds[next], 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.microservices.benchmarks;
+
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Product Service simulado en proceso: todo producto está disponible y toda reserva se confirma.
+ * Así OrderService.createOrder mide solo el coste propio de Order Service (validación,
+ * persistencia, outbox y mapeo), sin red ni un segundo servicio.
+ */
+public class StubProductServiceClient extends ProductServiceClient {
+
+    private static final BigDecimal UNIT_PRICE = new BigDecimal("19.99");
+
+    @Override
+    public AvailabilityCheckResponse checkProductAvailability(Long productId, Integer quantity) {
+        return available(productId, quantity);
+    }
+
+    @Override
+    public List<AvailabilityCheckResponse> checkProductsAvailability(List<OrderItemRequestDto> items) {
+        return items.stream()
+                .map(item -> available(item.getProductId(), item.getQuantity()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public StockReservationResponse reserveStock(List<OrderItemRequestDto> items) {
+        return new StockReservationResponse(UUID.randomUUID().toString(), "ACTIVE",
+                LocalDateTime.now().plusMinutes(5), null);
+    }
+
+    @Override
+    public boolean confirmReservation(String reservationId) {
+        return true;
+    }
+
+    @Override
+    public boolean releaseReservation(String reservationId) {
+        return true;
+    }
+
+    private static AvailabilityCheckResponse available(Long productId, Integer quantity) {
+        return new AvailabilityCheckResponse(productId, "Producto " + productId, true, quantity,
+                1_000, UNIT_PRICE, "Producto disponible");
+    }
+}
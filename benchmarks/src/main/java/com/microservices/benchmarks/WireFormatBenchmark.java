@@ -0,0 +1,133 @@
+package com.microservices.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.client.ProductServiceClient.AvailabilityCheckResponse;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.ProductDto;
+import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.dto.BatchAvailabilityCheckRequestDto;
+import com.microservices.productservice.dto.ProductResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON frente a CBOR en las llamadas de Order Service a Product Service: cada lado serializa
+ * con su DTO y el otro deserializa con el suyo, igual que los conversores HTTP de los servicios.
+ *
+ * El tamaño de cada cuerpo no forma parte de la medida; se imprime aparte con main:
+ * java -cp benchmarks/target/benchmarks.jar com.microservices.benchmarks.WireFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"1", "50"})
+    private int items;
+
+    private ObjectMapper mapper;
+
+    private ProductServiceClient.ItemsRequest availabilityRequest;
+    private byte[] availabilityRequestBytes;
+    private List<AvailabilityCheckResponseDto> availabilityResponse;
+    private byte[] availabilityResponseBytes;
+    private ProductResponseDto product;
+    private byte[] productBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor()
+                : Jackson2ObjectMapperBuilder.json();
+        mapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        List<OrderItemRequestDto> requestItems = new ArrayList<>(items);
+        availabilityResponse = new ArrayList<>(items);
+        for (int i = 1; i <= items; i++) {
+            requestItems.add(new OrderItemRequestDto((long) i, i % 5 + 1));
+            availabilityResponse.add(new AvailabilityCheckResponseDto((long) i, "Producto " + i, true,
+                    i % 5 + 1, 100, new BigDecimal("19.99"), "Producto disponible"));
+        }
+        availabilityRequest = new ProductServiceClient.ItemsRequest(requestItems);
+        availabilityRequestBytes = mapper.writeValueAsBytes(availabilityRequest);
+        availabilityResponseBytes = mapper.writeValueAsBytes(availabilityResponse);
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        product = new ProductResponseDto(1L, "Laptop Dell XPS 13", "Ultrabook de 13 pulgadas",
+                new BigDecimal("1299.99"), 25, now, now);
+        productBytes = mapper.writeValueAsBytes(product);
+    }
+
+    /**
+     * Imprimir el tamaño de cada cuerpo para todas las combinaciones de parámetros
+     */
+    public static void main(String[] args) throws IOException {
+        for (String format : new String[] {"json", "cbor"}) {
+            for (int items : new int[] {1, 50}) {
+                WireFormatBenchmark benchmark = new WireFormatBenchmark();
+                benchmark.format = format;
+                benchmark.items = items;
+                benchmark.setUp();
+                System.out.printf("[%s, items=%d] petición de disponibilidad: %d B, respuesta: %d B, producto: %d B%n",
+                        format, items, benchmark.availabilityRequestBytes.length,
+                        benchmark.availabilityResponseBytes.length, benchmark.productBytes.length);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeAvailabilityRequest() throws IOException {
+        return mapper.writeValueAsBytes(availabilityRequest);
+    }
+
+    @Benchmark
+    public BatchAvailabilityCheckRequestDto deserializeAvailabilityRequest() throws IOException {
+        return mapper.readValue(availabilityRequestBytes, BatchAvailabilityCheckRequestDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeAvailabilityResponse() throws IOException {
+        return mapper.writeValueAsBytes(availabilityResponse);
+    }
+
+    @Benchmark
+    public AvailabilityCheckResponse[] deserializeAvailabilityResponse() throws IOException {
+        return mapper.readValue(availabilityResponseBytes, AvailabilityCheckResponse[].class);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws IOException {
+        return mapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductDto deserializeProduct() throws IOException {
+        return mapper.readValue(productBytes, ProductDto.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.microservices.benchmarks.loadtest;
+
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductSearchIndex;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Catálogo sintético para las pruebas de carga
+ */
+final class Catalog {
+
+    static final List<String> CATEGORIES = List.of(
+            "Laptop", "Monitor", "Teclado", "Mouse", "Auriculares", "Tablet", "Impresora", "Cámara");
+
+    static final List<String> BRANDS = List.of(
+            "Dell", "HP", "Lenovo", "Samsung", "Logitech", "Sony");
+
+    // Suficiente para que ningún escenario agote el stock y las respuestas sean de éxito
+    private static final int STOCK = 10_000_000;
+
+    private Catalog() {
+    }
+
+    /**
+     * Guarda size productos en Product Service y reconstruye el índice de búsqueda
+     */
+    static List<Long> seed(ConfigurableApplicationContext productService, int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String category = CATEGORIES.get(i % CATEGORIES.size());
+            String brand = BRANDS.get(random.nextInt(BRANDS.size()));
+            products.add(new Product(category + " " + brand + " " + i, category + " de la marca " + brand,
+                    BigDecimal.valueOf(1_000 + random.nextInt(500_000), 2), STOCK));
+        }
+
+        List<Long> ids = productService.getBean(ProductRepository.class).saveAll(products).stream()
+                .map(Product::getId)
+                .toList();
+        productService.getBean(ProductSearchIndex.class).rebuild();
+        return ids;
+    }
+}
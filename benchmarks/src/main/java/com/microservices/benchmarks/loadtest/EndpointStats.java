@@ -0,0 +1,99 @@
+package com.microservices.benchmarks.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y resultados de un endpoint durante la ventana de medición.
+ *
+ * latency se mide desde el instante en que la petición debía enviarse según la tasa objetivo
+ * (corrige la omisión coordinada: si el generador o el servicio se retrasan, la espera cuenta).
+ * serviceTime se mide desde el envío real y solo se conserva para comparar.
+ *
+ * Una petición descartada por el límite de peticiones en curso no tiene latencia medible: se
+ * registra en latency con el valor máximo del histograma (DROPPED_LATENCY_MICROS), de modo que
+ * los percentiles nunca salen mejores por descartar peticiones.
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    static final long DROPPED_LATENCY_MICROS = HIGHEST_TRACKABLE_MICROS;
+
+    private final String endpoint;
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Registra una petición terminada; status 0 si no hubo respuesta (timeout, conexión rechazada)
+     */
+    void record(long latencyNanos, long serviceTimeNanos, int status) {
+        latency.recordValue(toMicros(latencyNanos));
+        serviceTime.recordValue(toMicros(serviceTimeNanos));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Petición no enviada porque se alcanzó el máximo de peticiones en curso
+     */
+    void recordDropped() {
+        dropped.increment();
+        latency.recordValue(DROPPED_LATENCY_MICROS);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Copia consistente del histograma, aunque sigan llegando respuestas tardías
+     */
+    public Histogram getLatency() {
+        return latency.copy();
+    }
+
+    public Histogram getServiceTime() {
+        return serviceTime.copy();
+    }
+
+    /**
+     * Peticiones enviadas y terminadas (sin contar las descartadas)
+     */
+    public long getCompleted() {
+        return latency.getTotalCount() - dropped.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+}
@@ -0,0 +1,90 @@
+package com.microservices.benchmarks.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones se lanzan a tasa constante, sin esperar
+ * a que terminen las anteriores, como llegan los clientes reales. Un servicio lento acumula
+ * peticiones en curso en lugar de frenar al generador.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+
+    public LoadGenerator(HttpClient httpClient, double ratePerSecond, Duration warmup, Duration duration,
+                         int maxInFlight) {
+        this.httpClient = httpClient;
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public LoadTestReport run(Scenario scenario, LoadTargets targets) throws InterruptedException {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom(scenario.ordinal());
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadRequest request = scenario.next(targets, random);
+            EndpointStats endpointStats = intended >= measureFrom ?
+                    stats.computeIfAbsent(request.getEndpoint(), EndpointStats::new) : null;
+            if (!inFlight.tryAcquire()) {
+                if (endpointStats != null) {
+                    endpointStats.recordDropped();
+                }
+                continue;
+            }
+
+            long sent = System.nanoTime();
+            httpClient.sendAsync(request.getHttpRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long completed = System.nanoTime();
+                        if (endpointStats != null) {
+                            endpointStats.record(completed - intended, completed - sent,
+                                    response != null ? response.statusCode() : 0);
+                        }
+                        inFlight.release();
+                    });
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            logger.warn("Escenario {}: quedaron peticiones sin respuesta tras {} s",
+                    scenario.getId(), DRAIN_TIMEOUT.toSeconds());
+        }
+        return new LoadTestReport(scenario, ratePerSecond, duration, stats.values());
+    }
+}
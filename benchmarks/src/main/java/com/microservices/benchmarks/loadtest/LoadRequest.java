@@ -0,0 +1,25 @@
+package com.microservices.benchmarks.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Petición generada por un escenario, con la etiqueta del endpoint bajo la que se agregan sus latencias
+ */
+public class LoadRequest {
+
+    private final String endpoint;
+    private final HttpRequest httpRequest;
+
+    public LoadRequest(String endpoint, HttpRequest httpRequest) {
+        this.endpoint = endpoint;
+        this.httpRequest = httpRequest;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public HttpRequest getHttpRequest() {
+        return httpRequest;
+    }
+}
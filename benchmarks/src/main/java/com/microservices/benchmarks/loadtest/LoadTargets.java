@@ -0,0 +1,31 @@
+package com.microservices.benchmarks.loadtest;
+
+import java.util.List;
+
+/**
+ * URLs de los servicios bajo prueba y catálogo sembrado en Product Service
+ */
+public class LoadTargets {
+
+    private final String productServiceUrl;
+    private final String orderServiceUrl;
+    private final List<Long> productIds;
+
+    public LoadTargets(String productServiceUrl, String orderServiceUrl, List<Long> productIds) {
+        this.productServiceUrl = productServiceUrl;
+        this.orderServiceUrl = orderServiceUrl;
+        this.productIds = productIds;
+    }
+
+    public String getProductServiceUrl() {
+        return productServiceUrl;
+    }
+
+    public String getOrderServiceUrl() {
+        return orderServiceUrl;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
@@ -0,0 +1,102 @@
+package com.microservices.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.benchmarks.ServiceContexts;
+import com.microservices.orderservice.OrderServiceApplication;
+import com.microservices.productservice.ProductServiceApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga de extremo a extremo.
+ *
+ * Arranca Product Service y Order Service en este proceso (Tomcat en puertos libres, H2 en memoria,
+ * Order Service apuntando al Product Service embebido), siembra un catálogo y ejecuta los escenarios
+ * a tasa constante. Imprime throughput y p50/p99/p99.9 por endpoint y guarda el resultado en JSON.
+ *
+ * Opciones (--clave=valor): scenario (hot-sku, large-cart, browse o all), rate (req/s), duration y
+ * warmup (segundos), catalog (productos), max-in-flight, output-dir.
+ */
+public class LoadTestMain {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<Scenario> scenarios = "all".equalsIgnoreCase(options.getOrDefault("scenario", "all")) ?
+                Arrays.asList(Scenario.values()) :
+                List.of(Scenario.fromId(options.get("scenario")));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        int catalogSize = Integer.parseInt(options.getOrDefault("catalog", "1000"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        Path outputDir = Paths.get(options.getOrDefault("output-dir", "loadtest-results"));
+
+        ConfigurableApplicationContext productService = ServiceContexts.startServer("product-service",
+                new Class<?>[] {ProductServiceApplication.class},
+                "spring.datasource.url=jdbc:h2:mem:loadproducts");
+        String productServiceUrl = "http://localhost:" + ServiceContexts.port(productService);
+
+        ConfigurableApplicationContext orderService = ServiceContexts.startServer("order-service",
+                new Class<?>[] {OrderServiceApplication.class},
+                "spring.datasource.url=jdbc:h2:mem:loadorders",
+                "app.product-service.url=" + productServiceUrl);
+        String orderServiceUrl = "http://localhost:" + ServiceContexts.port(orderService);
+
+        try {
+            LoadTargets targets = new LoadTargets(productServiceUrl, orderServiceUrl,
+                    Catalog.seed(productService, catalogSize));
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadGenerator generator = new LoadGenerator(httpClient, rate, warmup, duration, maxInFlight);
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                LoadTestReport report = generator.run(scenario, targets);
+                report.print(System.out);
+                results.add(report.toMap());
+            }
+
+            Files.createDirectories(outputDir);
+            Path output = outputDir.resolve(LocalDateTime.now().format(TIMESTAMP) + ".json");
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("catalogSize", catalogSize);
+            document.put("warmupSeconds", warmup.toSeconds());
+            document.put("scenarios", results);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), document);
+            System.out.printf("%nResultados guardados en %s%n", output);
+        } finally {
+            orderService.close();
+            productService.close();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opción no válida (se espera --clave=valor): " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,102 @@
+package com.microservices.benchmarks.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de un escenario: throughput y percentiles de latencia por endpoint
+ */
+public class LoadTestReport {
+
+    private final Scenario scenario;
+    private final double targetRate;
+    private final Duration duration;
+    private final List<EndpointStats> endpoints;
+
+    public LoadTestReport(Scenario scenario, double targetRate, Duration duration, Collection<EndpointStats> endpoints) {
+        this.scenario = scenario;
+        this.targetRate = targetRate;
+        this.duration = duration;
+        this.endpoints = new ArrayList<>(endpoints);
+        this.endpoints.sort(Comparator.comparing(EndpointStats::getEndpoint));
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nEscenario %s: %.0f req/s durante %d s%n", scenario.getId(), targetRate, duration.toSeconds());
+        out.printf("%-40s %9s %8s %9s %9s %9s %9s %9s %12s%n", "Endpoint", "Peticiones", "Errores",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "p99 serv ms");
+        long dropped = 0;
+        for (EndpointStats stats : endpoints) {
+            Histogram latency = stats.getLatency();
+            dropped += stats.getDropped();
+            out.printf("%-40s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    stats.getEndpoint(),
+                    stats.getCompleted() + stats.getDropped(),
+                    stats.getErrors() + stats.getDropped(),
+                    throughput(stats),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    millis(stats.getServiceTime().getValueAtPercentile(99)));
+        }
+        if (dropped > 0) {
+            out.printf("AVISO: %d peticiones descartadas por max-in-flight cuentan como %.0f ms; "
+                    + "los percentiles que las alcanzan no son latencias medidas%n",
+                    dropped, millis(EndpointStats.DROPPED_LATENCY_MICROS));
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.getId());
+        report.put("targetRatePerSecond", targetRate);
+        report.put("durationSeconds", duration.toSeconds());
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (EndpointStats stats : endpoints) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", stats.getEndpoint());
+            result.put("completed", stats.getCompleted());
+            result.put("errors", stats.getErrors());
+            result.put("dropped", stats.getDropped());
+            // Con descartes, la cola de latencyMillis refleja el valor centinela y no una medición
+            result.put("percentilesIncludeDropped", stats.getDropped() > 0);
+            result.put("statuses", stats.getStatuses());
+            result.put("throughputPerSecond", throughput(stats));
+            result.put("latencyMillis", percentiles(stats.getLatency()));
+            result.put("serviceTimeMillis", percentiles(stats.getServiceTime()));
+            results.add(result);
+        }
+        report.put("endpoints", results);
+        return report;
+    }
+
+    // Respuestas correctas por segundo en la ventana de medición
+    private double throughput(EndpointStats stats) {
+        return (stats.getCompleted() - stats.getErrors()) / (double) duration.toSeconds();
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", millis(histogram.getValueAtPercentile(50)));
+        percentiles.put("p90", millis(histogram.getValueAtPercentile(90)));
+        percentiles.put("p99", millis(histogram.getValueAtPercentile(99)));
+        percentiles.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        percentiles.put("max", millis(histogram.getMaxValue()));
+        percentiles.put("mean", histogram.getMean() / 1000.0);
+        return percentiles;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,155 @@
+package com.microservices.benchmarks.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Mezcla de tráfico de cada escenario de carga
+ */
+public enum Scenario {
+
+    /**
+     * Pedidos pequeños concentrados en unos pocos productos: contención sobre las mismas filas de stock
+     */
+    HOT_SKU("hot-sku") {
+        @Override
+        LoadRequest next(LoadTargets targets, SplittableRandom random) {
+            if (random.nextInt(100) < 30) {
+                return checkAvailability(targets, hotProduct(targets, random), 1 + random.nextInt(3));
+            }
+            Set<Long> productIds = new LinkedHashSet<>();
+            int lines = 1 + random.nextInt(3);
+            while (productIds.size() < lines) {
+                productIds.add(random.nextInt(100) < 90 ? hotProduct(targets, random) : anyProduct(targets, random));
+            }
+            return createOrder(targets, productIds, random);
+        }
+    },
+
+    /**
+     * Pedidos de 50 a 100 líneas distintas repartidas por todo el catálogo
+     */
+    LARGE_CART("large-cart") {
+        @Override
+        LoadRequest next(LoadTargets targets, SplittableRandom random) {
+            Set<Long> productIds = new LinkedHashSet<>();
+            int lines = Math.min(50 + random.nextInt(51), targets.getProductIds().size());
+            while (productIds.size() < lines) {
+                productIds.add(anyProduct(targets, random));
+            }
+            return createOrder(targets, productIds, random);
+        }
+    },
+
+    /**
+     * Navegación del catálogo: detalle de producto (con productos más populares que otros),
+     * listado, búsqueda y consulta de disponibilidad
+     */
+    BROWSE("browse") {
+        @Override
+        LoadRequest next(LoadTargets targets, SplittableRandom random) {
+            int roll = random.nextInt(100);
+            if (roll < 50) {
+                return get(targets.getProductServiceUrl() + "/api/products/" + popularProduct(targets, random),
+                        "GET /api/products/{id}");
+            }
+            if (roll < 70) {
+                return get(targets.getProductServiceUrl() + "/api/products?size=20", "GET /api/products");
+            }
+            if (roll < 80) {
+                String term = Catalog.CATEGORIES.get(random.nextInt(Catalog.CATEGORIES.size()));
+                return get(targets.getProductServiceUrl() + "/api/products/search?q=" + term + "&limit=20",
+                        "GET /api/products/search");
+            }
+            return checkAvailability(targets, popularProduct(targets, random), 1 + random.nextInt(3));
+        }
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int HOT_PRODUCTS = 3;
+
+    private final String id;
+
+    Scenario(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    abstract LoadRequest next(LoadTargets targets, SplittableRandom random);
+
+    public static Scenario fromId(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equalsIgnoreCase(id)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: " + id);
+    }
+
+    private static Long hotProduct(LoadTargets targets, SplittableRandom random) {
+        return targets.getProductIds().get(random.nextInt(Math.min(HOT_PRODUCTS, targets.getProductIds().size())));
+    }
+
+    private static Long anyProduct(LoadTargets targets, SplittableRandom random) {
+        return targets.getProductIds().get(random.nextInt(targets.getProductIds().size()));
+    }
+
+    // Popularidad sesgada: los primeros productos del catálogo reciben la mayoría de las visitas
+    private static Long popularProduct(LoadTargets targets, SplittableRandom random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return targets.getProductIds().get((int) (skewed * targets.getProductIds().size()));
+    }
+
+    private static LoadRequest createOrder(LoadTargets targets, Set<Long> productIds, SplittableRandom random) {
+        List<OrderItemRequestDto> items = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            items.add(new OrderItemRequestDto(productId, 1 + random.nextInt(3)));
+        }
+        OrderRequestDto order = new OrderRequestDto(
+                "cliente" + random.nextInt(10_000) + "@example.com", "Cliente Carga", items);
+        return post(targets.getOrderServiceUrl() + "/api/orders", order, "POST /api/orders");
+    }
+
+    private static LoadRequest checkAvailability(LoadTargets targets, Long productId, int quantity) {
+        return post(targets.getProductServiceUrl() + "/api/products/check-availability",
+                new AvailabilityCheckRequestDto(productId, quantity), "POST /api/products/check-availability");
+    }
+
+    private static LoadRequest get(String url, String endpoint) {
+        return new LoadRequest(endpoint, HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build());
+    }
+
+    private static LoadRequest post(String url, Object body, String endpoint) {
+        try {
+            return new LoadRequest(endpoint, HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+@echo off
+echo =========================================
+echo Load test: Product Service + Order Service
+echo =========================================
+call mvn clean package -DskipTests
+if %ERRORLEVEL% NEQ 0 (
+    echo Build failed!
+    pause
+    exit /b 1
+)
+echo.
+echo Build successful, running load test...
+echo Options: --scenario=hot-sku^|large-cart^|browse^|all --rate=100 --duration=30 --warmup=10
+echo.
+java -cp benchmarks\target\benchmarks.jar com.microservices.benchmarks.loadtest.LoadTestMain %*
@@ -1,19 +1,39 @@
 package com.microservices.orderservice;
 
+import io.micrometer.context.ContextExecutorService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @SpringBootApplication
+@EnableScheduling
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(OrderServiceApplication.class, args);
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    /**
+     * Pool acotado para las verificaciones concurrentes contra Product Service.
+     * El tamaño limita cuántas llamadas simultáneas recibe Product Service.
+     * Cada tarea hereda el contexto de traza del hilo que la envía.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService productServiceExecutor(
+            @Value("${app.product-service.validation.max-concurrency:16}") int maxConcurrency) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "product-validation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return ContextExecutorService.wrap(Executors.newFixedThreadPool(maxConcurrency, threadFactory));
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.microservices.orderservice.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker por conteo sobre una ventana deslizante de las últimas N llamadas.
+ *
+ * CLOSED: se registran los resultados; si con al menos minimumCalls llamadas la tasa de
+ * fallos o de llamadas lentas supera su umbral, el circuito se abre.
+ * OPEN: se rechazan las llamadas sin contactar al servicio hasta que pasa waitInOpen.
+ * HALF_OPEN: se permiten halfOpenCalls llamadas de prueba; según sus tasas el circuito
+ * vuelve a CLOSED o a OPEN.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,    // Llamadas permitidas
+        OPEN,      // Llamadas rechazadas
+        HALF_OPEN  // Llamadas de prueba
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final long slowCallDurationNanos;
+    private final float slowCallRateThreshold;
+    private final long waitInOpenNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // Ventana circular de resultados en estado CLOSED
+    private final boolean[] windowFailures;
+    private final boolean[] windowSlow;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailureCount;
+    private int windowSlowCount;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+
+    private int halfOpenPermitted;
+    private int halfOpenCompleted;
+    private int halfOpenFailures;
+    private int halfOpenSlow;
+
+    private long notPermittedCalls;
+    private final Map<String, Long> transitions = new LinkedHashMap<>();
+
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, float failureRateThreshold,
+                          long slowCallDurationMs, float slowCallRateThreshold, long waitInOpenMs,
+                          int halfOpenCalls) {
+        this(name, slidingWindowSize, minimumCalls, failureRateThreshold, slowCallDurationMs,
+             slowCallRateThreshold, waitInOpenMs, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, float failureRateThreshold,
+                   long slowCallDurationMs, float slowCallRateThreshold, long waitInOpenMs,
+                   int halfOpenCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.windowFailures = new boolean[slidingWindowSize];
+        this.windowSlow = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(slowCallDurationMs);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.waitInOpenNanos = TimeUnit.MILLISECONDS.toNanos(waitInOpenMs);
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Indica si una llamada puede ejecutarse. En HALF_OPEN reserva uno de los permisos de prueba.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= waitInOpenNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (halfOpenPermitted < halfOpenCalls) {
+                    halfOpenPermitted++;
+                    return true;
+                }
+                notPermittedCalls++;
+                return false;
+            default:
+                notPermittedCalls++;
+                return false;
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+
+    public void onError(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    private synchronized void record(boolean failure, long durationNanos) {
+        boolean slow = durationNanos >= slowCallDurationNanos;
+
+        if (state == State.CLOSED) {
+            if (windowCount == windowFailures.length) {
+                windowFailureCount -= windowFailures[windowIndex] ? 1 : 0;
+                windowSlowCount -= windowSlow[windowIndex] ? 1 : 0;
+            } else {
+                windowCount++;
+            }
+            windowFailures[windowIndex] = failure;
+            windowSlow[windowIndex] = slow;
+            windowFailureCount += failure ? 1 : 0;
+            windowSlowCount += slow ? 1 : 0;
+            windowIndex = (windowIndex + 1) % windowFailures.length;
+
+            if (windowCount >= minimumCalls && exceedsThresholds(windowFailureCount, windowSlowCount, windowCount)) {
+                transitionTo(State.OPEN);
+            }
+        } else if (state == State.HALF_OPEN) {
+            halfOpenCompleted++;
+            halfOpenFailures += failure ? 1 : 0;
+            halfOpenSlow += slow ? 1 : 0;
+
+            if (halfOpenCompleted >= halfOpenCalls) {
+                transitionTo(exceedsThresholds(halfOpenFailures, halfOpenSlow, halfOpenCompleted) ?
+                        State.OPEN : State.CLOSED);
+            }
+        }
+        // En OPEN se ignoran los resultados de llamadas iniciadas antes de abrir el circuito
+    }
+
+    private boolean exceedsThresholds(int failures, int slowCalls, int calls) {
+        float failureRate = failures * 100f / calls;
+        float slowCallRate = slowCalls * 100f / calls;
+        return failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold;
+    }
+
+    private void transitionTo(State newState) {
+        State previous = state;
+        state = newState;
+        transitions.merge(previous + "->" + newState, 1L, Long::sum);
+        logger.warn("Circuit breaker '{}': {} -> {}", name, previous, newState);
+
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        if (newState == State.HALF_OPEN) {
+            halfOpenPermitted = 0;
+            halfOpenCompleted = 0;
+            halfOpenFailures = 0;
+            halfOpenSlow = 0;
+        }
+        if (newState == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailureCount = 0;
+            windowSlowCount = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getNotPermittedCalls() {
+        return notPermittedCalls;
+    }
+
+    /**
+     * Estado, tasas de la ventana actual, llamadas rechazadas y transiciones
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("state", state.toString());
+        metrics.put("bufferedCalls", windowCount);
+        metrics.put("failureRate", windowCount == 0 ? 0f : windowFailureCount * 100f / windowCount);
+        metrics.put("slowCallRate", windowCount == 0 ? 0f : windowSlowCount * 100f / windowCount);
+        metrics.put("notPermittedCalls", notPermittedCalls);
+        metrics.put("transitions", new LinkedHashMap<>(transitions));
+        return metrics;
+    }
+}
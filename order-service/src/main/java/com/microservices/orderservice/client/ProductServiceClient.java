@@ -1,38 +1,320 @@
 package com.microservices.orderservice.client;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
 import com.microservices.orderservice.dto.ProductDto;
+import com.microservices.orderservice.exception.ProductServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 public class ProductServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceClient.class);
 
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${app.product-service.url:http://localhost:8081}")
     private String productServiceUrl;
 
+    @Value("${app.product-service.wire-format:cbor}")
+    private String wireFormat;
+
+    @Value("${app.product-service.catalog-cache.max-size:5000}")
+    private long catalogCacheMaxSize;
+
+    @Value("${app.product-service.catalog-cache.refresh-after-ms:30000}")
+    private long catalogCacheRefreshAfterMs;
+
+    @Value("${app.product-service.catalog-cache.expire-after-ms:300000}")
+    private long catalogCacheExpireAfterMs;
+
+    @Value("${app.product-service.catalog-cache.refresh-threads:2}")
+    private int catalogCacheRefreshThreads;
+
+    @Value("${app.product-service.circuit-breaker.enabled:true}")
+    private boolean circuitBreakerEnabled;
+
+    @Value("${app.product-service.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${app.product-service.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${app.product-service.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${app.product-service.circuit-breaker.slow-call-duration-ms:1000}")
+    private long slowCallDurationMs;
+
+    @Value("${app.product-service.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${app.product-service.circuit-breaker.wait-in-open-ms:10000}")
+    private long waitInOpenMs;
+
+    @Value("${app.product-service.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${app.product-service.bulkhead.max-concurrent-calls:64}")
+    private int bulkheadMaxConcurrentCalls;
+
+    @Value("${app.product-service.bulkhead.max-wait-ms:0}")
+    private long bulkheadMaxWaitMs;
+
+    // Formato de los cuerpos hacia Product Service; pasa a JSON si Product Service no acepta CBOR
+    private volatile MediaType wireMediaType;
+
+    private LoadingCache<Long, ProductDto> productCatalogCache;
+
+    private CircuitBreaker circuitBreaker;
+
+    private Semaphore bulkhead;
+
+    private final AtomicLong bulkheadRejectedCalls = new AtomicLong();
+
+    private ExecutorService catalogRefreshExecutor;
+
+    /**
+     * Caché cercana de productos con refresco anticipado: pasado refresh-after-ms se sigue
+     * sirviendo la entrada actual mientras se recarga en segundo plano; solo al superar
+     * expire-after-ms una petición espera a Product Service.
+     */
+    @PostConstruct
+    void initProductCatalogCache() {
+        AtomicInteger threadCount = new AtomicInteger();
+        catalogRefreshExecutor = Executors.newFixedThreadPool(catalogCacheRefreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "product-catalog-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        productCatalogCache = Caffeine.newBuilder()
+                .maximumSize(catalogCacheMaxSize)
+                .refreshAfterWrite(Duration.ofMillis(catalogCacheRefreshAfterMs))
+                .expireAfterWrite(Duration.ofMillis(catalogCacheExpireAfterMs))
+                .executor(catalogRefreshExecutor)
+                .recordStats()
+                .build(this::fetchProduct);
+    }
+
+    /**
+     * Circuit breaker y bulkhead que protegen todas las llamadas a Product Service:
+     * con el circuito abierto o sin permisos libres la llamada falla de inmediato en
+     * lugar de bloquear un hilo hasta el timeout del socket.
+     */
+    @PostConstruct
+    void initResilience() {
+        circuitBreaker = new CircuitBreaker("product-service", slidingWindowSize, minimumCalls,
+                failureRateThreshold, slowCallDurationMs, slowCallRateThreshold, waitInOpenMs, halfOpenCalls);
+        bulkhead = new Semaphore(bulkheadMaxConcurrentCalls);
+
+        // Las llamadas que sí salen por HTTP ya se miden en http.client.requests
+        FunctionCounter.builder("orders.product_client.rejected", bulkheadRejectedCalls, AtomicLong::get)
+                .description("Llamadas a Product Service rechazadas sin salir por la red")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.product_client.rejected", circuitBreaker, CircuitBreaker::getNotPermittedCalls)
+                .description("Llamadas a Product Service rechazadas sin salir por la red")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initWireFormat() {
+        wireMediaType = "cbor".equalsIgnoreCase(wireFormat) ? CBOR : MediaType.APPLICATION_JSON;
+        logger.info("Formato de las llamadas a Product Service: {}", wireMediaType);
+    }
+
+    @PreDestroy
+    void shutdownProductCatalogCache() {
+        catalogRefreshExecutor.shutdownNow();
+    }
+
     /**
      * Obtiene información de un producto por su ID
      */
     public ProductDto getProduct(Long productId) {
+        try {
+            return productCatalogCache.get(productId);
+        } catch (RestClientException e) {
+            logger.error("Error al comunicarse con Product Service para producto ID: {}", productId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Estadísticas de la caché cercana del catálogo
+     */
+    public Map<String, Object> getCatalogCacheStats() {
+        CacheStats stats = productCatalogCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", productCatalogCache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadSuccesses", stats.loadSuccessCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return result;
+    }
+
+    /**
+     * Estado del circuit breaker y del bulkhead
+     */
+    public Map<String, Object> getResilienceStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("circuitBreakerEnabled", circuitBreakerEnabled);
+        result.put("circuitBreaker", circuitBreaker.getMetrics());
+
+        Map<String, Object> bulkheadStats = new LinkedHashMap<>();
+        bulkheadStats.put("maxConcurrentCalls", bulkheadMaxConcurrentCalls);
+        bulkheadStats.put("availableConcurrentCalls", bulkhead.availablePermits());
+        bulkheadStats.put("rejectedCalls", bulkheadRejectedCalls.get());
+        result.put("bulkhead", bulkheadStats);
+        return result;
+    }
+
+    /**
+     * Ejecuta una llamada a Product Service a través del bulkhead y el circuit breaker.
+     * Los errores 4xx son respuestas válidas del servicio y no cuentan como fallos.
+     */
+    private <T> T protect(Supplier<T> call) {
+        // El bulkhead va antes que el circuito: un rechazo por saturación no consume permisos HALF_OPEN
+        if (!acquireBulkhead()) {
+            bulkheadRejectedCalls.incrementAndGet();
+            throw new ProductServiceUnavailableException("Product Service saturado: límite de llamadas concurrentes alcanzado");
+        }
+
+        try {
+            if (circuitBreakerEnabled && !circuitBreaker.tryAcquirePermission()) {
+                throw new ProductServiceUnavailableException("Product Service no disponible temporalmente (circuito abierto)");
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                recordOutcome(false, System.nanoTime() - start);
+                return result;
+            } catch (HttpClientErrorException e) {
+                recordOutcome(false, System.nanoTime() - start);
+                throw e;
+            } catch (RuntimeException e) {
+                recordOutcome(true, System.nanoTime() - start);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        if (bulkheadMaxWaitMs <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(bulkheadMaxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordOutcome(boolean failure, long durationNanos) {
+        if (!circuitBreakerEnabled) {
+            return;
+        }
+        if (failure) {
+            circuitBreaker.onError(durationNanos);
+        } else {
+            circuitBreaker.onSuccess(durationNanos);
+        }
+    }
+
+    /**
+     * Llamada a Product Service en el formato negociado: el cuerpo viaja en wireMediaType y se
+     * acepta también JSON en la respuesta. Si Product Service responde 415 a CBOR (versión sin
+     * soporte) se repite la llamada en JSON y las siguientes ya salen en JSON.
+     */
+    private <T> ResponseEntity<T> exchange(String url, HttpMethod method, Object body,
+                                           Class<T> responseType, Object... uriVariables) {
+        MediaType mediaType = wireMediaType;
+        try {
+            return restTemplate.exchange(url, method, entity(body, mediaType), responseType, uriVariables);
+        } catch (HttpClientErrorException.UnsupportedMediaType e) {
+            if (!CBOR.equals(mediaType)) {
+                throw e;
+            }
+            logger.warn("Product Service no acepta {}: se continúa con JSON", CBOR);
+            wireMediaType = MediaType.APPLICATION_JSON;
+            return restTemplate.exchange(url, method, entity(body, MediaType.APPLICATION_JSON), responseType, uriVariables);
+        }
+    }
+
+    private static HttpEntity<Object> entity(Object body, MediaType mediaType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(CBOR.equals(mediaType)
+                ? List.of(CBOR, MediaType.APPLICATION_JSON)
+                : List.of(MediaType.APPLICATION_JSON));
+        if (body != null) {
+            headers.setContentType(mediaType);
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
+    /**
+     * Carga un producto desde Product Service. Devuelve null si no existe y lanza la
+     * excepción en errores de comunicación, de modo que un refresco fallido conserve
+     * la entrada anterior en la caché.
+     */
+    private ProductDto fetchProduct(Long productId) {
         logger.info("Obteniendo producto con ID: {} desde Product Service", productId);
 
         try {
-            String url = productServiceUrl + "/api/products/" + productId;
-            ResponseEntity<ProductDto> response = restTemplate.getForEntity(url, ProductDto.class);
+            String url = productServiceUrl + "/api/products/{id}";
+            ResponseEntity<ProductDto> response = protect(() -> exchange(url, HttpMethod.GET, null, ProductDto.class, productId));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 logger.info("Producto obtenido exitosamente: {}", response.getBody().getName());
@@ -41,12 +323,28 @@ public class ProductServiceClient {
                 logger.warn("Respuesta no exitosa al obtener producto ID: {}", productId);
                 return null;
             }
-        } catch (RestClientException e) {
-            logger.error("Error al comunicarse con Product Service para producto ID: {}", productId, e);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.warn("Producto no encontrado en Product Service con ID: {}", productId);
             return null;
         }
     }
 
+    /**
+     * Si una respuesta en vivo muestra un nombre o precio distinto al cacheado,
+     * se programa un refresco de la entrada sin bloquear la petición actual.
+     */
+    private void refreshIfStale(AvailabilityCheckResponse availability) {
+        if (availability == null || availability.getProductId() == null || availability.getUnitPrice() == null) {
+            return;
+        }
+        // Lectura sin registrar estadísticas: no es un acceso real a la caché
+        ProductDto cached = productCatalogCache.policy().getIfPresentQuietly(availability.getProductId());
+        if (cached != null && (!Objects.equals(cached.getName(), availability.getProductName())
+                || cached.getPrice() == null || cached.getPrice().compareTo(availability.getUnitPrice()) != 0)) {
+            productCatalogCache.refresh(availability.getProductId());
+        }
+    }
+
     /**
      * Verifica la disponibilidad de un producto
      */
@@ -56,15 +354,14 @@ public class ProductServiceClient {
         try {
             String url = productServiceUrl + "/api/products/check-availability";
 
-            Map<String, Object> request = new HashMap<>();
-            request.put("productId", productId);
-            request.put("quantity", quantity);
+            OrderItemRequestDto request = new OrderItemRequestDto(productId, quantity);
 
-            ResponseEntity<AvailabilityCheckResponse> response = restTemplate.postForEntity(
-                url, request, AvailabilityCheckResponse.class);
+            ResponseEntity<AvailabilityCheckResponse> response = protect(() -> exchange(
+                url, HttpMethod.POST, request, AvailabilityCheckResponse.class));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 AvailabilityCheckResponse availabilityResponse = response.getBody();
+                refreshIfStale(availabilityResponse);
                 logger.info("Verificación de disponibilidad: {} - {}",
                            availabilityResponse.isAvailable(), availabilityResponse.getMessage());
                 return availabilityResponse;
@@ -78,6 +375,193 @@ public class ProductServiceClient {
         }
     }
 
+    /**
+     * Verifica la disponibilidad de varios productos en una sola llamada.
+     * Las respuestas se devuelven en el mismo orden que los items solicitados.
+     */
+    public List<AvailabilityCheckResponse> checkProductsAvailability(List<OrderItemRequestDto> items) {
+        logger.info("Verificando disponibilidad en lote para {} productos", items.size());
+
+        try {
+            String url = productServiceUrl + "/api/products/check-availability/batch";
+
+            ItemsRequest request = new ItemsRequest(items);
+
+            ResponseEntity<AvailabilityCheckResponse[]> response = protect(() -> exchange(
+                url, HttpMethod.POST, request, AvailabilityCheckResponse[].class));
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null
+                    && response.getBody().length == items.size()) {
+                logger.info("Verificación de disponibilidad en lote completada para {} productos", items.size());
+                for (AvailabilityCheckResponse availability : response.getBody()) {
+                    refreshIfStale(availability);
+                }
+                return Arrays.asList(response.getBody());
+            } else {
+                logger.warn("Respuesta no exitosa al verificar disponibilidad en lote");
+                return failedAvailability(items, "Error en la comunicación con Product Service");
+            }
+        } catch (RestClientException e) {
+            logger.error("Error al verificar disponibilidad en lote para {} productos", items.size(), e);
+            return failedAvailability(items, "Error de comunicación: " + e.getMessage());
+        }
+    }
+
+    private List<AvailabilityCheckResponse> failedAvailability(List<OrderItemRequestDto> items, String message) {
+        List<AvailabilityCheckResponse> responses = new ArrayList<>(items.size());
+        for (OrderItemRequestDto item : items) {
+            responses.add(new AvailabilityCheckResponse(item.getProductId(), null, false, item.getQuantity(), 0, null, message));
+        }
+        return responses;
+    }
+
+    /**
+     * Reserva de forma atómica el stock de todos los items de un pedido.
+     * Si algún producto no tiene stock suficiente no se reserva nada.
+     *
+     * El ID de la reserva se genera aquí: si la respuesta no llega (timeout) la reserva pudo
+     * crearse igualmente, y el resultado UNKNOWN conserva el ID para poder liberarla.
+     */
+    public StockReservationResponse reserveStock(List<OrderItemRequestDto> items) {
+        logger.info("Reservando stock para {} productos", items.size());
+
+        String reservationId = UUID.randomUUID().toString();
+        try {
+            String url = productServiceUrl + "/api/products/reservations";
+
+            ReservationRequest request = new ReservationRequest(reservationId, items);
+
+            ResponseEntity<StockReservationResponse> response = protect(() -> exchange(
+                url, HttpMethod.POST, request, StockReservationResponse.class));
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                logger.info("Stock reservado con reserva ID: {}", response.getBody().getReservationId());
+                return response.getBody();
+            } else {
+                logger.warn("Respuesta no exitosa al reservar stock");
+                return StockReservationResponse.rejected("Error en la comunicación con Product Service");
+            }
+        } catch (HttpStatusCodeException e) {
+            String message = extractErrorMessage(e);
+            logger.warn("Reserva de stock rechazada: {}", message);
+            return StockReservationResponse.rejected(message);
+        } catch (ProductServiceUnavailableException e) {
+            // Rechazada por el circuit breaker o el bulkhead: la petición no salió
+            logger.warn("Reserva de stock no enviada: {}", e.getMessage());
+            return StockReservationResponse.rejected("Error de comunicación: " + e.getMessage());
+        } catch (RestClientException e) {
+            logger.error("Error al reservar stock, resultado desconocido para la reserva ID: {}", reservationId, e);
+            return StockReservationResponse.unknown(reservationId, "Error de comunicación: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Confirma una reserva de stock activa. Si la respuesta no llega se consulta el estado
+     * de la reserva: la confirmación pudo aplicarse en Product Service.
+     */
+    public boolean confirmReservation(String reservationId) {
+        try {
+            return changeReservationState(reservationId, "confirm");
+        } catch (ResourceAccessException e) {
+            logger.warn("Sin respuesta al confirmar la reserva ID: {}, se consulta su estado", reservationId, e);
+            return "CONFIRMED".equals(getReservationStatus(reservationId));
+        } catch (RestClientException e) {
+            logger.error("Error al ejecutar confirm sobre la reserva ID: {}", reservationId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Libera una reserva de stock devolviendo las unidades a Product Service
+     */
+    public boolean releaseReservation(String reservationId) {
+        try {
+            return changeReservationState(reservationId, "release");
+        } catch (RestClientException e) {
+            logger.error("Error al ejecutar release sobre la reserva ID: {}", reservationId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Estado de una reserva en Product Service, o null si no se pudo consultar
+     */
+    public String getReservationStatus(String reservationId) {
+        try {
+            String url = productServiceUrl + "/api/products/reservations/{reservationId}";
+            ResponseEntity<StockReservationResponse> response = protect(() -> exchange(
+                url, HttpMethod.GET, null, StockReservationResponse.class, reservationId));
+            return response.getBody() != null ? response.getBody().getStatus() : null;
+        } catch (RestClientException e) {
+            logger.error("Error al consultar la reserva ID: {}", reservationId, e);
+            return null;
+        }
+    }
+
+    private boolean changeReservationState(String reservationId, String action) {
+        logger.info("Reserva ID: {} acción: {}", reservationId, action);
+
+        // Plantilla de URI para que las métricas agrupen por acción y no por reserva
+        String url = productServiceUrl + "/api/products/reservations/{reservationId}/" + action;
+        ResponseEntity<StockReservationResponse> response = protect(() -> exchange(
+            url, HttpMethod.POST, null, StockReservationResponse.class, reservationId));
+        return response.getStatusCode().is2xxSuccessful();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractErrorMessage(HttpStatusCodeException e) {
+        try {
+            Map<String, Object> body = e.getResponseBodyAs(Map.class);
+            if (body != null && body.get("message") != null) {
+                return body.get("message").toString();
+            }
+        } catch (RuntimeException ignored) {
+            // Cuerpo sin formato conocido: se usa el estado HTTP
+        }
+        return "Product Service respondió " + e.getStatusCode();
+    }
+
+    /**
+     * Cuerpo de las peticiones en lote: {"items": [{"productId", "quantity"}, ...]}
+     */
+    public static class ItemsRequest {
+        private List<OrderItemRequestDto> items;
+
+        // Constructores
+        public ItemsRequest() {}
+
+        public ItemsRequest(List<OrderItemRequestDto> items) {
+            this.items = items;
+        }
+
+        // Getters y Setters
+        public List<OrderItemRequestDto> getItems() { return items; }
+        public void setItems(List<OrderItemRequestDto> items) { this.items = items; }
+    }
+
+    /**
+     * Cuerpo de la reserva: {"reservationId", "items": [{"productId", "quantity"}, ...]}
+     */
+    public static class ReservationRequest {
+        private String reservationId;
+        private List<OrderItemRequestDto> items;
+
+        // Constructores
+        public ReservationRequest() {}
+
+        public ReservationRequest(String reservationId, List<OrderItemRequestDto> items) {
+            this.reservationId = reservationId;
+            this.items = items;
+        }
+
+        // Getters y Setters
+        public String getReservationId() { return reservationId; }
+        public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+
+        public List<OrderItemRequestDto> getItems() { return items; }
+        public void setItems(List<OrderItemRequestDto> items) { this.items = items; }
+    }
+
     /**
      * Clase interna para la respuesta de verificación de disponibilidad
      */
@@ -127,4 +611,55 @@ public class ProductServiceClient {
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
     }
+
+    /**
+     * Clase interna para la respuesta de reserva de stock
+     */
+    public static class StockReservationResponse {
+        private String reservationId;
+        private String status;
+        private java.time.LocalDateTime expiresAt;
+        private String message;
+
+        // Constructores
+        public StockReservationResponse() {}
+
+        public StockReservationResponse(String reservationId, String status,
+                                        java.time.LocalDateTime expiresAt, String message) {
+            this.reservationId = reservationId;
+            this.status = status;
+            this.expiresAt = expiresAt;
+            this.message = message;
+        }
+
+        public static StockReservationResponse rejected(String message) {
+            return new StockReservationResponse(null, "REJECTED", null, message);
+        }
+
+        // Sin respuesta de Product Service: la reserva pudo crearse y debe liberarse por su ID
+        public static StockReservationResponse unknown(String reservationId, String message) {
+            return new StockReservationResponse(reservationId, "UNKNOWN", null, message);
+        }
+
+        public boolean isReserved() {
+            return reservationId != null && "ACTIVE".equals(status);
+        }
+
+        public boolean isUnknown() {
+            return "UNKNOWN".equals(status);
+        }
+
+        // Getters y Setters
+        public String getReservationId() { return reservationId; }
+        public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public java.time.LocalDateTime getExpiresAt() { return expiresAt; }
+        public void setExpiresAt(java.time.LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
 }
\ No newline at end of file
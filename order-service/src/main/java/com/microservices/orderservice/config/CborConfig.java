@@ -0,0 +1,23 @@
+package com.microservices.orderservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Formato binario CBOR (application/cbor) para las llamadas entre Order Service y Product Service.
+ *
+ * JSON sigue siendo el formato por defecto: CBOR solo se usa cuando la petición lo declara en
+ * Content-Type o Accept. El conversor reemplaza al que Spring registra por defecto para que
+ * use la misma configuración de Jackson (spring.jackson.*) que el de JSON.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
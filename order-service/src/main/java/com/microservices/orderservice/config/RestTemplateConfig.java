@@ -0,0 +1,110 @@
+package com.microservices.orderservice.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP hacia Product Service.
+ *
+ * Por defecto usa Apache HttpClient 5 con un pool de conexiones keep-alive, timeouts de
+ * conexión, espera por conexión del pool y respuesta, y expulsión de conexiones ociosas.
+ * Con http2-enabled se usa el HttpClient del JDK negociando HTTP/2 (multiplexa las
+ * peticiones sobre una única conexión por host) y el pool de Apache no se crea.
+ */
+@Configuration
+public class RestTemplateConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestTemplateConfig.class);
+
+    @Value("${app.product-service.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${app.product-service.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.product-service.http.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.product-service.http.connection-request-timeout-ms:500}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${app.product-service.http.response-timeout-ms:3000}")
+    private long responseTimeoutMs;
+
+    @Value("${app.product-service.http.idle-eviction-ms:30000}")
+    private long idleEvictionMs;
+
+    @Value("${app.product-service.http.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Value("${app.product-service.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.product-service.http.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient productServiceHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     ObjectProvider<CloseableHttpClient> productServiceHttpClient) {
+        ClientHttpRequestFactory requestFactory;
+
+        if (http2Enabled) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .build();
+            JdkClientHttpRequestFactory jdkRequestFactory = new JdkClientHttpRequestFactory(httpClient);
+            jdkRequestFactory.setReadTimeout(Duration.ofMillis(responseTimeoutMs));
+            requestFactory = jdkRequestFactory;
+            logger.info("Cliente hacia Product Service: JDK HttpClient con HTTP/2");
+        } else {
+            requestFactory = new HttpComponentsClientHttpRequestFactory(productServiceHttpClient.getObject());
+            logger.info("Cliente hacia Product Service: pool de {} conexiones ({} por ruta)",
+                       maxConnections, maxConnectionsPerRoute);
+        }
+
+        return builder.requestFactory(() -> requestFactory).build();
+    }
+}
@@ -1,19 +1,31 @@
 package com.microservices.orderservice.controller;
 
+import com.microservices.orderservice.dto.OrderPageDto;
 import com.microservices.orderservice.dto.OrderRequestDto;
 import com.microservices.orderservice.dto.OrderResponseDto;
 import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.exception.IdempotencyConflictException;
+import com.microservices.orderservice.exception.InvalidCursorException;
+import com.microservices.orderservice.exception.InvalidIdempotencyKeyException;
 import com.microservices.orderservice.exception.OrderNotFoundException;
+import com.microservices.orderservice.exception.OrderQueueFullException;
 import com.microservices.orderservice.exception.ProductNotAvailableException;
+import com.microservices.orderservice.service.IdempotencyService;
+import com.microservices.orderservice.service.OrderIntakeService;
 import com.microservices.orderservice.service.OrderService;
+import com.microservices.orderservice.service.OutboxRelay;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,14 +35,89 @@ import java.util.Map;
 @Tag(name = "Order Service", description = "API para la gestión de pedidos")
 public class OrderController {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     @PostMapping
-    @Operation(summary = "Crear un nuevo pedido")
-    public ResponseEntity<OrderResponseDto> createOrder(@Valid @RequestBody OrderRequestDto orderRequest) {
+    @Operation(summary = "Crear un nuevo pedido",
+               description = "En modo asíncrono responde 202 con el pedido en PENDING; su estado final se consulta en GET /api/orders/{orderId}. " +
+                             "Con la cabecera Idempotency-Key los reintentos reciben la respuesta original sin crear otro pedido")
+    public ResponseEntity<OrderResponseDto> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody OrderRequestDto orderRequest) {
+        if (idempotencyKey == null) {
+            return placeOrder(orderRequest);
+        }
+
+        IdempotencyService.Claim claim = idempotencyService.claim(idempotencyKey, orderRequest);
+        if (claim.isReplay()) {
+            IdempotencyService.StoredResponse previous = claim.getReplay();
+            return orderResponse(HttpStatus.valueOf(previous.getStatus()), previous.getBody())
+                    .header(IDEMPOTENT_REPLAY_HEADER, "true")
+                    .body(previous.getBody());
+        }
+
+        ResponseEntity<OrderResponseDto> response;
+        try {
+            response = placeOrder(orderRequest);
+        } catch (RuntimeException e) {
+            idempotencyService.release(idempotencyKey, claim.getOwner());
+            throw e;
+        }
+        try {
+            idempotencyService.complete(idempotencyKey, orderRequest, response.getStatusCode().value(), response.getBody());
+        } catch (RuntimeException e) {
+            // El pedido ya existe: se responde igualmente y la clave no se libera para no duplicarlo
+            logger.error("No se pudo guardar la respuesta de la Idempotency-Key {} del pedido ID: {}",
+                    idempotencyKey, response.getBody() != null ? response.getBody().getId() : null, e);
+        }
+        return response;
+    }
+
+    private ResponseEntity<OrderResponseDto> placeOrder(OrderRequestDto orderRequest) {
+        if (orderIntakeService.isAsync()) {
+            OrderResponseDto acceptedOrder = orderIntakeService.submit(orderRequest);
+            return orderResponse(HttpStatus.ACCEPTED, acceptedOrder).body(acceptedOrder);
+        }
         OrderResponseDto createdOrder = orderService.createOrder(orderRequest);
-        return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+        return orderResponse(HttpStatus.CREATED, createdOrder).body(createdOrder);
+    }
+
+    private ResponseEntity.BodyBuilder orderResponse(HttpStatus status, OrderResponseDto order) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (status == HttpStatus.ACCEPTED) {
+            response.location(URI.create("/api/orders/" + order.getId()));
+        }
+        return response;
+    }
+
+    @GetMapping("/idempotency/stats")
+    @Operation(summary = "Estadísticas de la deduplicación por Idempotency-Key")
+    public ResponseEntity<Map<String, Object>> getIdempotencyStats() {
+        return ResponseEntity.ok(idempotencyService.getStats());
+    }
+
+    @GetMapping("/intake/stats")
+    @Operation(summary = "Estado de la cola de recepción asíncrona de pedidos")
+    public ResponseEntity<Map<String, Object>> getIntakeStats() {
+        return ResponseEntity.ok(orderIntakeService.getStats());
     }
 
     @GetMapping("/{orderId}")
@@ -41,19 +128,32 @@ public class OrderController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los pedidos")
+    @Operation(summary = "Listar pedidos paginados por cursor, opcionalmente de un cliente",
+               description = "El cursor de la página siguiente se devuelve en la cabecera X-Next-Cursor")
     public ResponseEntity<List<OrderResponseDto>> getAllOrders(
-            @RequestParam(required = false) String customerEmail) {
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<OrderResponseDto> orders;
+        OrderPageDto page;
 
         if (customerEmail != null && !customerEmail.isEmpty()) {
-            orders = orderService.getOrdersByCustomerEmail(customerEmail);
+            page = orderService.getOrdersPageByCustomerEmail(customerEmail, cursor, size);
         } else {
-            orders = orderService.getAllOrders();
+            page = orderService.getOrdersPage(cursor, size);
         }
 
-        return ResponseEntity.ok(orders);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/outbox/stats")
+    @Operation(summary = "Estado del outbox de eventos de pedidos")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(outboxRelay.getStats());
     }
 
     @PutMapping("/{orderId}/status")
@@ -91,6 +191,40 @@ public class OrderController {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleOrderQueueFull(OrderQueueFullException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Servicio saturado");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Conflicto de idempotencia");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Idempotency-Key inválida");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Cursor inválido");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
         Map<String, String> error = new HashMap<>();
@@ -0,0 +1,33 @@
+package com.microservices.orderservice.controller;
+
+import com.microservices.orderservice.client.ProductServiceClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/internal/product-client")
+@Tag(name = "Product Service Client", description = "Diagnóstico del cliente hacia Product Service")
+public class ProductClientStatsController {
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Estadísticas de la caché local del catálogo de productos")
+    public ResponseEntity<Map<String, Object>> getCatalogCacheStats() {
+        return ResponseEntity.ok(productServiceClient.getCatalogCacheStats());
+    }
+
+    @GetMapping("/circuit-breaker")
+    @Operation(summary = "Estado del circuit breaker y del bulkhead hacia Product Service")
+    public ResponseEntity<Map<String, Object>> getResilienceStats() {
+        return ResponseEntity.ok(productServiceClient.getResilienceStats());
+    }
+}
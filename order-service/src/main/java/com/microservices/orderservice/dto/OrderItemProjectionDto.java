@@ -0,0 +1,29 @@
+package com.microservices.orderservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de una línea de pedido con el ID de su pedido, para agrupar las líneas
+ * de una página de pedidos obtenidas en una sola consulta.
+ */
+public class OrderItemProjectionDto {
+
+    private final Long orderId;
+    private final OrderItemResponseDto item;
+
+    // Constructores
+    public OrderItemProjectionDto(Long orderId, Long id, Long productId, String productName,
+                                  Integer quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+        this.orderId = orderId;
+        this.item = new OrderItemResponseDto(id, productId, productName, quantity, unitPrice, totalPrice);
+    }
+
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderItemResponseDto getItem() {
+        return item;
+    }
+}
@@ -25,6 +25,16 @@ public class OrderItemResponseDto {
         this.totalPrice = orderItem.getTotalPrice();
     }
 
+    public OrderItemResponseDto(Long id, Long productId, String productName, Integer quantity,
+                                BigDecimal unitPrice, BigDecimal totalPrice) {
+        this.id = id;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = totalPrice;
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
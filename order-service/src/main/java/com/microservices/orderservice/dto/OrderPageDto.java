@@ -0,0 +1,39 @@
+package com.microservices.orderservice.dto;
+
+import java.util.List;
+
+public class OrderPageDto {
+
+    private List<OrderResponseDto> items;
+    private String nextCursor;
+
+    // Constructores
+    public OrderPageDto() {
+    }
+
+    public OrderPageDto(List<OrderResponseDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters y Setters
+    public List<OrderResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderResponseDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
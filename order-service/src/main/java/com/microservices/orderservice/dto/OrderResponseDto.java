@@ -3,6 +3,7 @@ package com.microservices.orderservice.dto;
 import com.microservices.orderservice.entity.Order;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,6 +35,21 @@ public class OrderResponseDto {
         this.updatedAt = order.getUpdatedAt();
     }
 
+    /**
+     * Constructor usado por las proyecciones JPQL de los listados; las líneas se añaden después
+     */
+    public OrderResponseDto(Long id, String customerEmail, String customerName, Order.OrderStatus status,
+                            BigDecimal totalAmount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.customerEmail = customerEmail;
+        this.customerName = customerName;
+        this.status = status.toString();
+        this.totalAmount = totalAmount;
+        this.items = new ArrayList<>();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
@@ -0,0 +1,15 @@
+package com.microservices.orderservice.exception;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Llamada a Product Service rechazada localmente (circuito abierto o bulkhead lleno)
+ * sin llegar a realizarse. Extiende RestClientException para que los llamadores la
+ * traten igual que un error de comunicación.
+ */
+public class ProductServiceUnavailableException extends RestClientException {
+
+    public ProductServiceUnavailableException(String message) {
+        super(message);
+    }
+}
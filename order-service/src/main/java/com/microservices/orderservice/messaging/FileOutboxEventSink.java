@@ -0,0 +1,76 @@
+package com.microservices.orderservice.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orderservice.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Log de eventos en disco: un evento JSON por línea (NDJSON), añadido al final del archivo.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+public class FileOutboxEventSink implements OutboxEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileOutboxEventSink.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Path path;
+
+    public FileOutboxEventSink(@Value("${app.outbox.file.path:outbox/order-events.ndjson}") String path) {
+        this.path = Paths.get(path);
+        logger.info("Eventos del outbox publicados en {}", this.path.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(toRecord(event)));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron escribir los eventos en " + path, e);
+        }
+    }
+
+    private Map<String, Object> toRecord(OutboxEvent event) throws IOException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", event.getId());
+        record.put("aggregateType", event.getAggregateType());
+        record.put("aggregateId", event.getAggregateId());
+        record.put("eventType", event.getEventType());
+        record.put("createdAt", event.getCreatedAt());
+        record.put("payload", objectMapper.readTree(event.getPayload()));
+        return record;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+}
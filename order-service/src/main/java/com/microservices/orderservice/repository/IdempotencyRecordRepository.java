@@ -0,0 +1,69 @@
+package com.microservices.orderservice.repository;
+
+import com.microservices.orderservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Guarda la respuesta de una clave en curso.
+     * Las claves se gestionan fuera de la transacción del pedido, por eso cada operación abre la suya.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, " +
+           "r.responseStatus = :responseStatus, r.responseBody = :responseBody WHERE r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("status") IdempotencyRecord.Status status,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody);
+
+    /**
+     * Retoma una clave en curso cuyo plazo venció, renovándolo y cambiando su propietario.
+     * Devuelve 0 si la clave ya se completó o si otra petición la retomó antes.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil, r.owner = :owner WHERE r.key = :key " +
+           "AND r.status = :status AND (r.lockedUntil IS NULL OR r.lockedUntil < :now)")
+    int takeOver(@Param("key") String key,
+                 @Param("status") IdempotencyRecord.Status status,
+                 @Param("now") LocalDateTime now,
+                 @Param("lockedUntil") LocalDateTime lockedUntil,
+                 @Param("owner") String owner);
+
+    /**
+     * Libera una clave en curso solo si sigue siendo del propietario indicado.
+     * Devuelve 0 si otra petición la retomó o si ya se completó.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.owner = :owner AND r.status = :status")
+    int releaseOwned(@Param("key") String key,
+                     @Param("owner") String owner,
+                     @Param("status") IdempotencyRecord.Status status);
+
+    /**
+     * Elimina una clave solo si su TTL sigue vencido; una clave reclamada de nuevo entretanto se conserva
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    /**
+     * Elimina las claves cuyo TTL venció
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,12 +1,16 @@
 package com.microservices.orderservice.repository;
 
+import com.microservices.orderservice.dto.OrderItemProjectionDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
 import com.microservices.orderservice.entity.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +21,57 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     List<Order> findByCustomerEmail(String customerEmail);
 
+    /**
+     * Primera página de pedidos, del más reciente al más antiguo.
+     * Proyección directa a DTO: no se hidratan entidades ni se cargan las líneas.
+     */
+    @Query("SELECT new com.microservices.orderservice.dto.OrderResponseDto(" +
+           "o.id, o.customerEmail, o.customerName, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponseDto> findFirstPage(Pageable pageable);
+
+    /**
+     * Página por keyset: pedidos anteriores a la posición (createdAt, id) del cursor
+     */
+    @Query("SELECT new com.microservices.orderservice.dto.OrderResponseDto(" +
+           "o.id, o.customerEmail, o.customerName, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponseDto> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                          Pageable pageable);
+
+    /**
+     * Primera página del historial de un cliente, del más reciente al más antiguo
+     */
+    @Query("SELECT new com.microservices.orderservice.dto.OrderResponseDto(" +
+           "o.id, o.customerEmail, o.customerName, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.customerEmail = :customerEmail " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponseDto> findFirstPageByCustomerEmail(@Param("customerEmail") String customerEmail,
+                                                        Pageable pageable);
+
+    /**
+     * Página por keyset del historial de un cliente (usa el índice customer_email, created_at)
+     */
+    @Query("SELECT new com.microservices.orderservice.dto.OrderResponseDto(" +
+           "o.id, o.customerEmail, o.customerName, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.customerEmail = :customerEmail " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponseDto> findPageByCustomerEmailBefore(@Param("customerEmail") String customerEmail,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    /**
+     * Líneas de varios pedidos en una sola consulta (IN), proyectadas a DTO
+     */
+    @Query("SELECT new com.microservices.orderservice.dto.OrderItemProjectionDto(" +
+           "i.order.id, i.id, i.productId, i.productName, i.quantity, i.unitPrice, i.totalPrice) " +
+           "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemProjectionDto> findItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
     /**
      * Encuentra pedidos por estado
      */
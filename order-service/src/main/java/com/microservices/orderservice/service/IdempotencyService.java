@@ -0,0 +1,280 @@
+package com.microservices.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.IdempotencyRecord;
+import com.microservices.orderservice.exception.IdempotencyConflictException;
+import com.microservices.orderservice.exception.InvalidIdempotencyKeyException;
+import com.microservices.orderservice.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deduplicación de POST /api/orders por la cabecera Idempotency-Key.
+ *
+ * La primera petición con una clave la reclama insertando una fila en idempotency_keys (la
+ * clave primaria impide que otra réplica o hilo la procese a la vez) y, al terminar, guarda la
+ * respuesta. Los reintentos con la misma clave reciben esa respuesta sin volver a validar ni
+ * llamar a Product Service. Las respuestas completadas se sirven desde una caché acotada en
+ * memoria; la tabla es la fuente de verdad si la entrada no está en caché o tras un reinicio.
+ *
+ * Una clave en curso tiene un plazo (in-progress-timeout-seconds): si la petición que la
+ * reclamó muere sin completarla ni liberarla, un reintento posterior al plazo la retoma en
+ * lugar de recibir un conflicto hasta que venza el TTL. El plazo debe superar el tiempo
+ * máximo de una creación de pedido. Cada reclamación lleva un propietario: una petición
+ * que termina tarde tras ser retomada no puede liberar la clave de quien la retomó.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.orders.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${app.orders.idempotency.cache-max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${app.orders.idempotency.in-progress-timeout-seconds:60}")
+    private long inProgressTimeoutSeconds;
+
+    private Cache<String, StoredResponse> completedResponses;
+
+    private final AtomicLong cacheReplays = new AtomicLong();
+    private final AtomicLong databaseReplays = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong takeovers = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        completedResponses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Reclama la clave para procesar la petición.
+     * Devuelve la respuesta original si la clave ya se completó, o el propietario de la clave si la petición debe procesarse.
+     */
+    public Claim claim(String key, OrderRequestDto requestDto) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                "La cabecera Idempotency-Key debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String requestHash = fingerprint(requestDto);
+
+        StoredResponse cached = completedResponses.getIfPresent(key);
+        if (cached != null) {
+            checkSameRequest(key, cached.getRequestHash(), requestHash);
+            cacheReplays.incrementAndGet();
+            logger.info("Idempotency-Key {} repetida: se devuelve el pedido ID: {}", key, cached.getBody().getId());
+            return Claim.replay(cached);
+        }
+
+        // Dos intentos: el segundo solo si la fila existente había expirado y se eliminó
+        for (int attempt = 0; attempt < 2; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            String owner = UUID.randomUUID().toString();
+            try {
+                IdempotencyRecord record = new IdempotencyRecord(key, requestHash, now, now.plusSeconds(ttlSeconds));
+                record.setLockedUntil(now.plusSeconds(inProgressTimeoutSeconds));
+                record.setOwner(owner);
+                idempotencyRecordRepository.saveAndFlush(record);
+                return Claim.owned(owner);
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = idempotencyRecordRepository.findById(key).orElse(null);
+                if (existing == null) {
+                    continue;
+                }
+                if (existing.getExpiresAt().isBefore(now)) {
+                    // Condicional: si otra petición ya la reclamó de nuevo, su fila no ha vencido y se conserva
+                    idempotencyRecordRepository.deleteIfExpired(key, now);
+                    continue;
+                }
+
+                checkSameRequest(key, existing.getRequestHash(), requestHash);
+                if (existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) {
+                    if (idempotencyRecordRepository.takeOver(key, IdempotencyRecord.Status.IN_PROGRESS,
+                            now, now.plusSeconds(inProgressTimeoutSeconds), owner) > 0) {
+                        takeovers.incrementAndGet();
+                        logger.warn("Idempotency-Key {} seguía en curso tras su plazo: se retoma la petición", key);
+                        return Claim.owned(owner);
+                    }
+                    conflicts.incrementAndGet();
+                    throw new IdempotencyConflictException(
+                        "Ya hay una petición en curso con la Idempotency-Key " + key);
+                }
+
+                StoredResponse stored = new StoredResponse(
+                    existing.getRequestHash(), existing.getResponseStatus(), readBody(existing.getResponseBody()));
+                completedResponses.put(key, stored);
+                databaseReplays.incrementAndGet();
+                logger.info("Idempotency-Key {} repetida: se devuelve el pedido ID: {}", key, stored.getBody().getId());
+                return Claim.replay(stored);
+            }
+        }
+
+        conflicts.incrementAndGet();
+        throw new IdempotencyConflictException("Ya hay una petición en curso con la Idempotency-Key " + key);
+    }
+
+    /**
+     * Guarda la respuesta de la petición para los reintentos con la misma clave.
+     * Se guarda primero en memoria: si la tabla falla, los reintentos que lleguen a esta
+     * instancia siguen recibiendo la respuesta original.
+     */
+    public void complete(String key, OrderRequestDto requestDto, int responseStatus, OrderResponseDto body) {
+        completedResponses.put(key, new StoredResponse(fingerprint(requestDto), responseStatus, body));
+        idempotencyRecordRepository.complete(key, IdempotencyRecord.Status.COMPLETED, responseStatus, writeBody(body));
+    }
+
+    /**
+     * Libera la clave de una petición que falló, para que el cliente pueda reintentarla.
+     * No hace nada si otra petición retomó la clave entretanto.
+     */
+    public void release(String key, String owner) {
+        if (idempotencyRecordRepository.releaseOwned(key, owner, IdempotencyRecord.Status.IN_PROGRESS) == 0) {
+            logger.warn("Idempotency-Key {} ya no pertenece a esta petición: no se libera", key);
+        }
+    }
+
+    /**
+     * Eliminar las claves cuyo TTL venció
+     */
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.purge-interval-ms:600000}",
+               initialDelayString = "${app.orders.idempotency.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Claves de idempotencia expiradas eliminadas: {}", purged);
+        }
+        return purged;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cachedResponses", completedResponses.estimatedSize());
+        stats.put("cacheReplays", cacheReplays.get());
+        stats.put("databaseReplays", databaseReplays.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("takeovers", takeovers.get());
+        return stats;
+    }
+
+    private void checkSameRequest(String key, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            conflicts.incrementAndGet();
+            throw new IdempotencyConflictException(
+                "La Idempotency-Key " + key + " ya se usó con un pedido distinto");
+        }
+    }
+
+    /**
+     * Huella SHA-256 de los campos del pedido
+     */
+    static String fingerprint(OrderRequestDto requestDto) {
+        StringBuilder canonical = new StringBuilder()
+                .append(requestDto.getCustomerEmail()).append('\n')
+                .append(requestDto.getCustomerName()).append('\n');
+        for (OrderItemRequestDto item : requestDto.getItems()) {
+            canonical.append(item.getProductId()).append(':').append(item.getQuantity()).append('\n');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private String writeBody(OrderResponseDto body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta del pedido", e);
+        }
+    }
+
+    private OrderResponseDto readBody(String body) {
+        try {
+            return objectMapper.readValue(body, OrderResponseDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta almacenada del pedido", e);
+        }
+    }
+
+    /**
+     * Resultado de reclamar una clave: la respuesta original o el propietario de la nueva reclamación
+     */
+    public static class Claim {
+        private final String owner;
+        private final StoredResponse replay;
+
+        private Claim(String owner, StoredResponse replay) {
+            this.owner = owner;
+            this.replay = replay;
+        }
+
+        public static Claim owned(String owner) { return new Claim(owner, null); }
+
+        public static Claim replay(StoredResponse replay) { return new Claim(null, replay); }
+
+        public boolean isReplay() { return replay != null; }
+
+        public String getOwner() { return owner; }
+
+        public StoredResponse getReplay() { return replay; }
+    }
+
+    /**
+     * Respuesta original de una petición con Idempotency-Key
+     */
+    public static class StoredResponse {
+        private final String requestHash;
+        private final int status;
+        private final OrderResponseDto body;
+
+        StoredResponse(String requestHash, int status, OrderResponseDto body) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.body = body;
+        }
+
+        String getRequestHash() { return requestHash; }
+
+        public int getStatus() { return status; }
+
+        public OrderResponseDto getBody() { return body; }
+    }
+}
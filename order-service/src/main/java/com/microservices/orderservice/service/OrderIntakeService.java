@@ -0,0 +1,247 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.exception.OrderQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recepción asíncrona de pedidos.
+ *
+ * En modo async, POST /api/orders solo registra el pedido como PENDING y lo encola; un pool
+ * de workers los procesa por lotes: una única verificación de disponibilidad para todas las
+ * líneas del lote y después reserva y confirmación por pedido, que queda CONFIRMED o CANCELLED.
+ * La cola es acotada: cuando está llena el pedido se rechaza (429) en lugar de dejar crecer
+ * la latencia.
+ *
+ * La cola vive en memoria: los pedidos encolados al detener el servicio quedan en PENDING.
+ */
+@Service
+public class OrderIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Value("${app.orders.intake.mode:sync}")
+    private String intakeMode;
+
+    @Value("${app.orders.intake.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.orders.intake.workers:2}")
+    private int workerCount;
+
+    @Value("${app.orders.intake.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.orders.intake.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+
+    // Plazas libres de la cola: se toman antes de registrar el pedido y se devuelven al procesarlo
+    private Semaphore capacity;
+
+    private ExecutorService workers;
+
+    private volatile boolean running;
+
+    private final AtomicLong acceptedOrders = new AtomicLong();
+    private final AtomicLong rejectedOrders = new AtomicLong();
+    private final AtomicLong confirmedOrders = new AtomicLong();
+    private final AtomicLong cancelledOrders = new AtomicLong();
+    private final AtomicLong failedOrders = new AtomicLong();
+    private final AtomicLong processedBatches = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        capacity = new Semaphore(queueCapacity);
+        if (!isAsync()) {
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable ->
+                new Thread(runnable, "order-intake-" + threadCount.incrementAndGet()));
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drainQueue);
+        }
+        logger.info("Recepción asíncrona de pedidos activa: cola de {}, {} workers, lotes de {}",
+                   queueCapacity, workerCount, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (workers == null) {
+            return;
+        }
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("{} pedidos quedan en PENDING sin procesar al detener el servicio", queue.size());
+        }
+    }
+
+    public boolean isAsync() {
+        return "async".equalsIgnoreCase(intakeMode);
+    }
+
+    /**
+     * Registrar el pedido como PENDING y encolarlo para su procesamiento
+     */
+    public OrderResponseDto submit(OrderRequestDto requestDto) {
+        if (!capacity.tryAcquire()) {
+            rejectedOrders.incrementAndGet();
+            logger.warn("Cola de pedidos llena ({}), pedido rechazado para cliente: {}",
+                       queueCapacity, requestDto.getCustomerEmail());
+            throw new OrderQueueFullException("Demasiados pedidos en proceso, intente de nuevo más tarde");
+        }
+
+        try {
+            OrderResponseDto acceptedOrder = orderService.acceptOrder(requestDto);
+            queue.add(new PendingOrder(acceptedOrder.getId(), requestDto.getItems()));
+            acceptedOrders.incrementAndGet();
+            return acceptedOrder;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void drainQueue() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Error inesperado procesando lote de {} pedidos", batch.size(), e);
+            } finally {
+                capacity.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Verifica la disponibilidad de todas las líneas del lote en una sola llamada y
+     * completa cada pedido con sus respuestas
+     */
+    void processBatch(List<PendingOrder> batch) {
+        List<OrderItemRequestDto> allItems = new ArrayList<>();
+        for (PendingOrder pendingOrder : batch) {
+            allItems.addAll(pendingOrder.getItems());
+        }
+        logger.info("Procesando lote de {} pedidos con {} líneas", batch.size(), allItems.size());
+
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities =
+            productServiceClient.checkProductsAvailability(allItems);
+
+        int offset = 0;
+        for (PendingOrder pendingOrder : batch) {
+            int lines = pendingOrder.getItems().size();
+            List<ProductServiceClient.AvailabilityCheckResponse> orderAvailabilities =
+                availabilities.subList(offset, offset + lines);
+            offset += lines;
+
+            try {
+                OrderResponseDto result = orderService.processPendingOrder(
+                    pendingOrder.getOrderId(), pendingOrder.getItems(), orderAvailabilities);
+                if (Order.OrderStatus.CONFIRMED.name().equals(result.getStatus())) {
+                    confirmedOrders.incrementAndGet();
+                } else {
+                    cancelledOrders.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                failedOrders.incrementAndGet();
+                logger.error("Error procesando pedido ID: {}", pendingOrder.getOrderId(), e);
+                cancelAfterFailure(pendingOrder.getOrderId());
+            }
+        }
+        processedBatches.incrementAndGet();
+    }
+
+    private void cancelAfterFailure(Long orderId) {
+        try {
+            orderService.updateOrderStatus(orderId, Order.OrderStatus.CANCELLED);
+        } catch (RuntimeException e) {
+            logger.error("No se pudo cancelar el pedido ID: {}, queda en PENDING", orderId, e);
+        }
+    }
+
+    /**
+     * Estado de la cola y contadores de pedidos procesados
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", isAsync() ? "async" : "sync");
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("inFlight", queueCapacity - capacity.availablePermits());
+        stats.put("queued", queue.size());
+        stats.put("accepted", acceptedOrders.get());
+        stats.put("rejected", rejectedOrders.get());
+        stats.put("confirmed", confirmedOrders.get());
+        stats.put("cancelled", cancelledOrders.get());
+        stats.put("failed", failedOrders.get());
+        stats.put("batches", processedBatches.get());
+        return stats;
+    }
+
+    /**
+     * Pedido aceptado a la espera de un worker
+     */
+    static class PendingOrder {
+        private final Long orderId;
+        private final List<OrderItemRequestDto> items;
+
+        PendingOrder(Long orderId, List<OrderItemRequestDto> items) {
+            this.orderId = orderId;
+            this.items = items;
+        }
+
+        Long getOrderId() { return orderId; }
+
+        List<OrderItemRequestDto> getItems() { return items; }
+    }
+}
@@ -0,0 +1,61 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.exception.ProductNotAvailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de la creación de pedidos y de la validación de disponibilidad.
+ *
+ * Los medidores se registran una sola vez al arrancar; en cada pedido solo se actualizan.
+ */
+@Component
+public class OrderMetrics {
+
+    private final Timer createOrderSuccess;
+    private final Timer createOrderRejected;
+    private final Timer createOrderError;
+    private final Timer availabilityValidation;
+    private final Counter unavailableProducts;
+
+    public OrderMetrics(MeterRegistry registry) {
+        createOrderSuccess = latencyTimer("orders.create", registry, "outcome", "success");
+        createOrderRejected = latencyTimer("orders.create", registry, "outcome", "rejected");
+        createOrderError = latencyTimer("orders.create", registry, "outcome", "error");
+        availabilityValidation = latencyTimer("orders.availability.validation", registry);
+        unavailableProducts = Counter.builder("orders.products.unavailable")
+                .description("Líneas de pedido rechazadas por falta de stock o producto inexistente")
+                .register(registry);
+    }
+
+    private static Timer latencyTimer(String name, MeterRegistry registry, String... tags) {
+        // Histograma acotado a 1 ms - 10 s para que Prometheus calcule percentiles entre instancias
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    /**
+     * Registra la duración de createOrder; failure es null si el pedido se creó
+     */
+    public void recordCreateOrder(long durationNanos, RuntimeException failure) {
+        Timer timer = failure == null ? createOrderSuccess :
+                failure instanceof ProductNotAvailableException ? createOrderRejected : createOrderError;
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAvailabilityValidation(long durationNanos, int unavailableLines) {
+        availabilityValidation.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (unavailableLines > 0) {
+            unavailableProducts.increment(unavailableLines);
+        }
+    }
+}
@@ -10,12 +10,23 @@ import com.microservices.orderservice.repository.OrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,50 +41,196 @@ public class OrderService {
     @Autowired
     private ProductServiceClient productServiceClient;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    @Qualifier("productServiceExecutor")
+    private ExecutorService productServiceExecutor;
+
+    @Value("${app.product-service.validation.mode:batch}")
+    private String validationMode;
+
+    @Value("${app.product-service.validation.timeout-ms:2000}")
+    private long validationTimeoutMs;
+
+    @Value("${app.orders.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.orders.page.max-size:200}")
+    private int maxPageSize;
+
     /**
      * Crear un nuevo pedido
      */
     public OrderResponseDto createOrder(OrderRequestDto requestDto) {
+        long start = System.nanoTime();
+        try {
+            OrderResponseDto response = registerOrder(requestDto);
+            orderMetrics.recordCreateOrder(System.nanoTime() - start, null);
+            return response;
+        } catch (RuntimeException e) {
+            orderMetrics.recordCreateOrder(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    private OrderResponseDto registerOrder(OrderRequestDto requestDto) {
         logger.info("Creando nuevo pedido para cliente: {}", requestDto.getCustomerEmail());
 
         // Validar disponibilidad de productos
         List<ProductValidationResult> validationResults = validateProductsAvailability(requestDto.getItems());
 
         // Verificar si hay productos no disponibles
-        List<ProductValidationResult> unavailableProducts = validationResults.stream()
-                .filter(result -> !result.isAvailable())
-                .collect(Collectors.toList());
+        String unavailableMessage = unavailableProductsMessage(validationResults);
+        if (unavailableMessage != null) {
+            logger.warn("Error en creación de pedido: {}", unavailableMessage);
+            throw new ProductNotAvailableException(unavailableMessage);
+        }
+
+        // Reservar el stock de todas las líneas (todo o nada) antes de persistir el pedido
+        ProductServiceClient.StockReservationResponse reservation =
+            productServiceClient.reserveStock(requestDto.getItems());
 
-        if (!unavailableProducts.isEmpty()) {
+        if (reservation == null || !reservation.isReserved()) {
+            releaseIfUnknown(reservation);
             String errorMessage = "Productos no disponibles: " +
-                unavailableProducts.stream()
-                    .map(ProductValidationResult::getErrorMessage)
-                    .collect(Collectors.joining(", "));
+                (reservation != null ? reservation.getMessage() : "Error al reservar stock");
             logger.warn("Error en creación de pedido: {}", errorMessage);
             throw new ProductNotAvailableException(errorMessage);
         }
 
-        // Crear el pedido
-        Order order = new Order(requestDto.getCustomerEmail(), requestDto.getCustomerName());
+        try {
+            // Crear el pedido
+            Order order = new Order(requestDto.getCustomerEmail(), requestDto.getCustomerName());
+
+            // Agregar items al pedido
+            for (ProductValidationResult validation : validationResults) {
+                OrderItem item = new OrderItem(
+                    validation.getProductId(),
+                    validation.getProductName(),
+                    validation.getRequestedQuantity(),
+                    validation.getUnitPrice()
+                );
+                order.addItem(item);
+            }
+
+            // Guardar el pedido
+            Order savedOrder = orderRepository.save(order);
+            outboxService.orderCreated(savedOrder);
+            // Con ids de secuencia y batching los INSERT se difieren al commit: se ejecutan aquí
+            // para que un fallo llegue al catch mientras la reserva sigue ACTIVE y puede liberarse
+            orderRepository.flush();
 
-        // Agregar items al pedido
-        for (ProductValidationResult validation : validationResults) {
-            OrderItem item = new OrderItem(
-                validation.getProductId(),
-                validation.getProductName(),
-                validation.getRequestedQuantity(),
-                validation.getUnitPrice()
-            );
-            order.addItem(item);
-        }
+            if (!productServiceClient.confirmReservation(reservation.getReservationId())) {
+                throw new ProductNotAvailableException(
+                    "No se pudo confirmar la reserva de stock: " + reservation.getReservationId());
+            }
 
-        // Guardar el pedido
-        Order savedOrder = orderRepository.save(order);
-        logger.info("Pedido creado exitosamente con ID: {}", savedOrder.getId());
+            logger.info("Pedido creado exitosamente con ID: {} reserva: {}",
+                       savedOrder.getId(), reservation.getReservationId());
+
+            return new OrderResponseDto(savedOrder);
+        } catch (RuntimeException e) {
+            logger.warn("Liberando reserva {} por error al crear el pedido", reservation.getReservationId());
+            productServiceClient.releaseReservation(reservation.getReservationId());
+            throw e;
+        }
+    }
 
+    /**
+     * Registrar un pedido en estado PENDING sin validar ni reservar stock.
+     * Las líneas se añaden al procesarlo en segundo plano (processPendingOrder).
+     */
+    public OrderResponseDto acceptOrder(OrderRequestDto requestDto) {
+        Order savedOrder = orderRepository.save(new Order(requestDto.getCustomerEmail(), requestDto.getCustomerName()));
+        outboxService.orderCreated(savedOrder);
+        logger.info("Pedido ID: {} aceptado en estado PENDING para cliente: {}",
+                   savedOrder.getId(), requestDto.getCustomerEmail());
         return new OrderResponseDto(savedOrder);
     }
 
+    /**
+     * Completar un pedido PENDING con la disponibilidad ya verificada para sus líneas:
+     * reserva el stock y lo deja CONFIRMED, o CANCELLED si algún producto no está
+     * disponible o la reserva se rechaza. Si el pedido no se puede guardar o la reserva no se
+     * confirma, la reserva se libera y se lanza la excepción para que el llamador lo cancele.
+     */
+    public OrderResponseDto processPendingOrder(Long orderId, List<OrderItemRequestDto> items,
+                                                List<ProductServiceClient.AvailabilityCheckResponse> availabilities) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Pedido no encontrado con ID: " + orderId));
+
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            logger.warn("Pedido ID: {} ya no está PENDING ({}), se omite", orderId, order.getStatus());
+            return new OrderResponseDto(order);
+        }
+
+        List<ProductValidationResult> validationResults = toValidationResults(items, availabilities);
+        String unavailableMessage = unavailableProductsMessage(validationResults);
+        if (unavailableMessage != null) {
+            return cancelPendingOrder(order, unavailableMessage);
+        }
+
+        ProductServiceClient.StockReservationResponse reservation = productServiceClient.reserveStock(items);
+        if (reservation == null || !reservation.isReserved()) {
+            releaseIfUnknown(reservation);
+            return cancelPendingOrder(order, "Productos no disponibles: " +
+                (reservation != null ? reservation.getMessage() : "Error al reservar stock"));
+        }
+
+        try {
+            for (ProductValidationResult validation : validationResults) {
+                order.addItem(new OrderItem(
+                    validation.getProductId(),
+                    validation.getProductName(),
+                    validation.getRequestedQuantity(),
+                    validation.getUnitPrice()
+                ));
+            }
+            order.setStatus(Order.OrderStatus.CONFIRMED);
+            Order confirmedOrder = orderRepository.save(order);
+            outboxService.orderStatusChanged(confirmedOrder, Order.OrderStatus.PENDING);
+            // Las líneas y el nuevo estado se escriben antes de confirmar la reserva (ver registerOrder)
+            orderRepository.flush();
+
+            if (!productServiceClient.confirmReservation(reservation.getReservationId())) {
+                throw new ProductNotAvailableException(
+                    "No se pudo confirmar la reserva de stock: " + reservation.getReservationId());
+            }
+
+            logger.info("Pedido ID: {} confirmado con reserva: {}", orderId, reservation.getReservationId());
+            return new OrderResponseDto(confirmedOrder);
+        } catch (RuntimeException e) {
+            // La transacción se revierte y OrderIntakeService cancela el pedido con el stock ya devuelto
+            logger.warn("Liberando reserva {} por error al confirmar el pedido ID: {}", reservation.getReservationId(), orderId);
+            productServiceClient.releaseReservation(reservation.getReservationId());
+            throw e;
+        }
+    }
+
+    /**
+     * Una reserva sin respuesta pudo crearse en Product Service: se libera por su ID para
+     * no dejar el stock apartado hasta que venza el TTL
+     */
+    private void releaseIfUnknown(ProductServiceClient.StockReservationResponse reservation) {
+        if (reservation != null && reservation.isUnknown()) {
+            logger.warn("Liberando reserva {} de resultado desconocido", reservation.getReservationId());
+            productServiceClient.releaseReservation(reservation.getReservationId());
+        }
+    }
+
+    private OrderResponseDto cancelPendingOrder(Order order, String reason) {
+        logger.warn("Pedido ID: {} cancelado: {}", order.getId(), reason);
+        order.setStatus(Order.OrderStatus.CANCELLED);
+        Order cancelledOrder = orderRepository.save(order);
+        outboxService.orderStatusChanged(cancelledOrder, Order.OrderStatus.PENDING);
+        return new OrderResponseDto(cancelledOrder);
+    }
+
     /**
      * Obtener pedido por ID
      */
@@ -88,29 +245,70 @@ public class OrderService {
     }
 
     /**
-     * Obtener todos los pedidos
+     * Obtener una página de pedidos, del más reciente al más antiguo (paginación por keyset).
+     * El cursor es el devuelto por la página anterior; null para la primera.
      */
     @Transactional(readOnly = true)
-    public List<OrderResponseDto> getAllOrders() {
-        logger.info("Obteniendo todos los pedidos");
-
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .map(OrderResponseDto::new)
-                .collect(Collectors.toList());
+    public OrderPageDto getOrdersPage(String cursor, Integer size) {
+        OrderCursor position = OrderCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        logger.info("Obteniendo página de pedidos de tamaño: {}", pageSize);
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<OrderResponseDto> rows = position == null ?
+            orderRepository.findFirstPage(pageable) :
+            orderRepository.findPageBefore(position.getCreatedAt(), position.getId(), pageable);
+
+        return toPage(rows, pageSize);
     }
 
     /**
-     * Obtener pedidos por email del cliente
+     * Obtener una página del historial de pedidos de un cliente
      */
     @Transactional(readOnly = true)
-    public List<OrderResponseDto> getOrdersByCustomerEmail(String customerEmail) {
-        logger.info("Obteniendo pedidos para cliente: {}", customerEmail);
+    public OrderPageDto getOrdersPageByCustomerEmail(String customerEmail, String cursor, Integer size) {
+        OrderCursor position = OrderCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        logger.info("Obteniendo página de pedidos para cliente: {} tamaño: {}", customerEmail, pageSize);
 
-        List<Order> orders = orderRepository.findByCustomerEmail(customerEmail);
-        return orders.stream()
-                .map(OrderResponseDto::new)
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<OrderResponseDto> rows = position == null ?
+            orderRepository.findFirstPageByCustomerEmail(customerEmail, pageable) :
+            orderRepository.findPageByCustomerEmailBefore(customerEmail, position.getCreatedAt(), position.getId(), pageable);
+
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Completa la página con las líneas de todos sus pedidos obtenidas en una única consulta,
+     * en lugar de una consulta por pedido al recorrer la colección LAZY.
+     */
+    private OrderPageDto toPage(List<OrderResponseDto> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<OrderResponseDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        if (!page.isEmpty()) {
+            Map<Long, OrderResponseDto> ordersById = page.stream()
+                    .collect(Collectors.toMap(OrderResponseDto::getId, Function.identity()));
+            for (OrderItemProjectionDto row : orderRepository.findItemsByOrderIds(ordersById.keySet())) {
+                ordersById.get(row.getOrderId()).getItems().add(row.getItem());
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderResponseDto last = page.get(page.size() - 1);
+            nextCursor = OrderCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new OrderPageDto(new ArrayList<>(page), nextCursor);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(size, maxPageSize));
     }
 
     /**
@@ -122,8 +320,12 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Pedido no encontrado con ID: " + orderId));
 
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
+        if (previousStatus != newStatus) {
+            outboxService.orderStatusChanged(updatedOrder, previousStatus);
+        }
 
         logger.info("Estado del pedido actualizado exitosamente: {}", updatedOrder.getId());
         return new OrderResponseDto(updatedOrder);
@@ -134,21 +336,47 @@ public class OrderService {
      */
     private List<ProductValidationResult> validateProductsAvailability(List<OrderItemRequestDto> items) {
         logger.info("Validando disponibilidad de {} productos", items.size());
+        long start = System.nanoTime();
 
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities = isFanOutMode() ?
+            checkAvailabilityConcurrently(items) :
+            productServiceClient.checkProductsAvailability(items);
+
+        List<ProductValidationResult> results = toValidationResults(items, availabilities);
+        int unavailable = (int) results.stream().filter(result -> !result.isAvailable()).count();
+        orderMetrics.recordAvailabilityValidation(System.nanoTime() - start, unavailable);
+        return results;
+    }
+
+    /**
+     * Cruza las líneas del pedido con sus respuestas de disponibilidad (en el mismo orden)
+     */
+    private List<ProductValidationResult> toValidationResults(
+            List<OrderItemRequestDto> items, List<ProductServiceClient.AvailabilityCheckResponse> availabilities) {
         List<ProductValidationResult> results = new ArrayList<>();
 
-        for (OrderItemRequestDto item : items) {
-            ProductServiceClient.AvailabilityCheckResponse availability =
-                productServiceClient.checkProductAvailability(item.getProductId(), item.getQuantity());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemRequestDto item = items.get(i);
+            ProductServiceClient.AvailabilityCheckResponse availability = availabilities.get(i);
 
             ProductValidationResult result = new ProductValidationResult();
             result.setProductId(item.getProductId());
             result.setRequestedQuantity(item.getQuantity());
 
             if (availability != null && availability.isAvailable()) {
+                // Nombre y precio de la respuesta en vivo; la caché cercana solo cubre los que falten
+                String productName = availability.getProductName();
+                BigDecimal unitPrice = availability.getUnitPrice();
+                if (productName == null || unitPrice == null) {
+                    ProductDto catalogEntry = productServiceClient.getProduct(item.getProductId());
+                    if (catalogEntry != null) {
+                        productName = productName != null ? productName : catalogEntry.getName();
+                        unitPrice = unitPrice != null ? unitPrice : catalogEntry.getPrice();
+                    }
+                }
                 result.setAvailable(true);
-                result.setProductName(availability.getProductName());
-                result.setUnitPrice(availability.getUnitPrice());
+                result.setProductName(productName);
+                result.setUnitPrice(unitPrice);
                 result.setAvailableStock(availability.getAvailableStock());
             } else {
                 result.setAvailable(false);
@@ -162,6 +390,73 @@ public class OrderService {
         return results;
     }
 
+    /**
+     * Mensaje con los productos no disponibles, o null si todos lo están
+     */
+    private String unavailableProductsMessage(List<ProductValidationResult> validationResults) {
+        List<ProductValidationResult> unavailableProducts = validationResults.stream()
+                .filter(result -> !result.isAvailable())
+                .collect(Collectors.toList());
+
+        if (unavailableProducts.isEmpty()) {
+            return null;
+        }
+        return "Productos no disponibles: " +
+            unavailableProducts.stream()
+                .map(ProductValidationResult::getErrorMessage)
+                .collect(Collectors.joining(", "));
+    }
+
+    private boolean isFanOutMode() {
+        return "fan-out".equalsIgnoreCase(validationMode);
+    }
+
+    /**
+     * Verifica cada producto en paralelo sobre el pool de Product Service,
+     * con un plazo máximo por pedido. Conserva el orden de los items.
+     */
+    private List<ProductServiceClient.AvailabilityCheckResponse> checkAvailabilityConcurrently(
+            List<OrderItemRequestDto> items) {
+        List<Callable<ProductServiceClient.AvailabilityCheckResponse>> tasks = items.stream()
+                .map(item -> (Callable<ProductServiceClient.AvailabilityCheckResponse>) () ->
+                    productServiceClient.checkProductAvailability(item.getProductId(), item.getQuantity()))
+                .collect(Collectors.toList());
+
+        List<Future<ProductServiceClient.AvailabilityCheckResponse>> futures;
+        try {
+            futures = productServiceExecutor.invokeAll(tasks, validationTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductNotAvailableException("Validación de productos interrumpida", e);
+        }
+
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemRequestDto item = items.get(i);
+            Future<ProductServiceClient.AvailabilityCheckResponse> future = futures.get(i);
+
+            if (future.isCancelled()) {
+                logger.warn("Tiempo de espera agotado verificando producto ID: {}", item.getProductId());
+                availabilities.add(new ProductServiceClient.AvailabilityCheckResponse(
+                    item.getProductId(), null, false, item.getQuantity(), 0, null,
+                    "Tiempo de espera agotado al verificar disponibilidad"));
+                continue;
+            }
+
+            try {
+                availabilities.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProductNotAvailableException("Validación de productos interrumpida", e);
+            } catch (ExecutionException e) {
+                logger.error("Error verificando producto ID: {}", item.getProductId(), e.getCause());
+                availabilities.add(null);
+            }
+        }
+
+        return availabilities;
+    }
+
     /**
      * Clase interna para resultados de validación de productos
      */
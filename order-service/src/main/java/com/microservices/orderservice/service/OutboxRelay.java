@@ -0,0 +1,120 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.entity.OutboxEvent;
+import com.microservices.orderservice.messaging.OutboxEventSink;
+import com.microservices.orderservice.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Publica por lotes los eventos pendientes de outbox_events en el sink configurado y los marca
+ * como publicados. Un fallo del sink deja el lote pendiente para el siguiente ciclo (entrega al
+ * menos una vez). Pensado para una única instancia del servicio; con varias habría que repartir
+ * los lotes (p. ej. SELECT ... FOR UPDATE SKIP LOCKED).
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxEventSink outboxEventSink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile String lastError;
+
+    /**
+     * Publicar todos los eventos pendientes; devuelve cuántos se publicaron
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:500}",
+               initialDelayString = "${app.outbox.relay-interval-ms:500}")
+    public synchronized int relay() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int published = 0;
+
+        while (true) {
+            List<OutboxEvent> batch = transaction.execute(status ->
+                    outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize)));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+
+            try {
+                outboxEventSink.publish(batch);
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                lastError = e.getMessage();
+                logger.warn("Error publicando {} eventos en el sink {}, se reintentará: {}",
+                        batch.size(), outboxEventSink.getName(), e.getMessage());
+                break;
+            }
+
+            List<Long> ids = batch.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+            transaction.executeWithoutResult(status ->
+                    outboxEventRepository.markPublished(ids, LocalDateTime.now()));
+            published += batch.size();
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (published > 0) {
+            publishedEvents.addAndGet(published);
+            logger.debug("Eventos publicados en el sink {}: {}", outboxEventSink.getName(), published);
+        }
+        return published;
+    }
+
+    /**
+     * Eliminar los eventos ya publicados que superan el tiempo de retención
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}",
+               initialDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public int purgePublished() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer purged = transaction.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (purged != null && purged > 0) {
+            logger.info("Eventos publicados eliminados del outbox: {}", purged);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sink", outboxEventSink.getName());
+        stats.put("pending", outboxEventRepository.countByPublishedAtIsNull());
+        stats.put("published", publishedEvents.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+}
@@ -0,0 +1,67 @@
+package com.microservices.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.entity.OutboxEvent;
+import com.microservices.orderservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro de eventos de pedidos en la tabla outbox_events.
+ * Exige una transacción activa: el evento se confirma o se revierte junto con el cambio.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    public static final String ORDER_AGGREGATE = "ORDER";
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Pedido registrado (confirmado en modo síncrono o PENDING en modo asíncrono)
+     */
+    public void orderCreated(Order order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("customerEmail", order.getCustomerEmail());
+        payload.put("status", order.getStatus().name());
+        payload.put("totalAmount", order.getTotalAmount());
+        record(order.getId(), ORDER_CREATED, payload);
+    }
+
+    /**
+     * Cambio de estado de un pedido
+     */
+    public void orderStatusChanged(Order order, Order.OrderStatus previousStatus) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("previousStatus", previousStatus.name());
+        payload.put("status", order.getStatus().name());
+        payload.put("totalAmount", order.getTotalAmount());
+        record(order.getId(), ORDER_STATUS_CHANGED, payload);
+    }
+
+    private void record(Long orderId, String eventType, Map<String, Object> payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(
+                    ORDER_AGGREGATE, orderId.toString(), eventType, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + eventType, e);
+        }
+    }
+}
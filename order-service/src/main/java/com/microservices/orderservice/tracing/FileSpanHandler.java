@@ -0,0 +1,107 @@
+package com.microservices.orderservice.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exportación de trazas a disco: un span JSON por línea (NDJSON), añadido al final del archivo.
+ * La escritura va a un buffer que se vuelca cada flush-interval-ms, fuera del hilo de la petición.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "file")
+public class FileSpanHandler extends SpanHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanHandler.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Path path;
+
+    // Protegido por synchronized
+    private final BufferedWriter writer;
+
+    public FileSpanHandler(@Value("${app.tracing.file.path:traces/order-spans.ndjson}") String path) {
+        this.path = Paths.get(path);
+        try {
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+            this.writer = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de trazas " + path, e);
+        }
+        logger.info("Trazas exportadas en {}", this.path.toAbsolutePath());
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        try {
+            String line = objectMapper.writeValueAsString(toRecord(span));
+            synchronized (this) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            // Una traza perdida no debe hacer fallar la petición
+            logger.warn("No se pudo escribir el span {} en {}: {}", span.id(), path, e.getMessage());
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.tracing.file.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("No se pudieron volcar las trazas en {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private Map<String, Object> toRecord(MutableSpan span) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("traceId", span.traceId());
+        record.put("parentId", span.parentId());
+        record.put("id", span.id());
+        record.put("name", span.name());
+        record.put("kind", span.kind());
+        record.put("service", span.localServiceName());
+        record.put("timestampMicros", span.startTimestamp());
+        record.put("durationMicros", span.finishTimestamp() - span.startTimestamp());
+        record.put("tags", span.tags());
+        if (span.error() != null) {
+            record.put("error", span.error().toString());
+        }
+        return record;
+    }
+}
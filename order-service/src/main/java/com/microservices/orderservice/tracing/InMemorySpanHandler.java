@@ -0,0 +1,59 @@
+package com.microservices.orderservice.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Colector de trazas en memoria: conserva los últimos spans terminados para consulta.
+ * Útil en desarrollo y pruebas.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+public class InMemorySpanHandler extends SpanHandler {
+
+    // Protegido por synchronized
+    private final Deque<MutableSpan> spans = new ArrayDeque<>();
+
+    private final int maxRetained;
+
+    public InMemorySpanHandler(@Value("${app.tracing.memory.max-retained:1000}") int maxRetained) {
+        this.maxRetained = maxRetained;
+    }
+
+    @Override
+    public synchronized boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED) {
+            spans.addLast(new MutableSpan(span));
+            if (spans.size() > maxRetained) {
+                spans.removeFirst();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Últimos spans terminados, en orden de finalización
+     */
+    public synchronized List<MutableSpan> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Spans terminados de una traza
+     */
+    public synchronized List<MutableSpan> getSpans(String traceId) {
+        return spans.stream()
+                .filter(span -> traceId.equals(span.traceId()))
+                .collect(Collectors.toList());
+    }
+}
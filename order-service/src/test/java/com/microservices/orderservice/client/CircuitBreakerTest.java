@@ -0,0 +1,102 @@
+package com.microservices.orderservice.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(1500);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker newBreaker() {
+        // Ventana de 10, mínimo 5 llamadas, 50% fallos, lentas > 1s al 80%, 10s en OPEN, 2 llamadas de prueba
+        return new CircuitBreaker("test", 10, 5, 50, 1000, 80, 10000, 2, clock::get);
+    }
+
+    @Test
+    void testOpensWhenFailureRateExceedsThreshold() {
+        // Arrange
+        CircuitBreaker breaker = newBreaker();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onError(FAST);
+        }
+        CircuitBreaker.State beforeMinimumCalls = breaker.getState();
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess(FAST);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, beforeMinimumCalls);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1L, breaker.getMetrics().get("notPermittedCalls"));
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulProbes() {
+        // Arrange
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 5; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onError(FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        boolean thirdProbePermitted = breaker.tryAcquirePermission();
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        // Assert
+        assertFalse(thirdProbePermitted);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().get("bufferedCalls"));
+    }
+
+    @Test
+    void testHalfOpenReopensWhenProbesFail() {
+        // Arrange
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 5; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onError(FAST);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Act
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+        breaker.onError(FAST);
+        breaker.onSuccess(FAST);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testOpensWhenSlowCallRateExceedsThreshold() {
+        // Arrange
+        CircuitBreaker breaker = newBreaker();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onSuccess(i == 0 ? FAST : SLOW);
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
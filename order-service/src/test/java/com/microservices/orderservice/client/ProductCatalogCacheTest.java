@@ -0,0 +1,156 @@
+package com.microservices.orderservice.client;
+
+import com.microservices.orderservice.client.ProductServiceClient.AvailabilityCheckResponse;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.ProductDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:ordercatalogcachetest",
+        "spring.jpa.show-sql=false",
+        "app.product-service.url=http://product-service",
+        "app.product-service.wire-format=json",
+        "app.product-service.catalog-cache.refresh-after-ms=100",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class ProductCatalogCacheTest {
+
+    private static final long AWAIT_MS = 5000;
+    private static final long RELOAD_DELAY_MS = 500;
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void testRefreshAheadServesCachedEntryWhileReloading() {
+        // Arrange
+        server.expect(ExpectedCount.once(), requestTo("http://product-service/api/products/1"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(productJson(1L, "10.00"), MediaType.APPLICATION_JSON));
+        // Recarga lenta: la lectura que la dispara no debe esperarla
+        server.expect(ExpectedCount.manyTimes(), requestTo("http://product-service/api/products/1"))
+            .andRespond(request -> {
+                sleep(RELOAD_DELAY_MS);
+                return withSuccess(productJson(1L, "12.00"), MediaType.APPLICATION_JSON).createResponse(request);
+            });
+
+        // Act
+        ProductDto loaded = productServiceClient.getProduct(1L);
+        sleep(200);
+        long start = System.nanoTime();
+        ProductDto servedWhileRefreshing = productServiceClient.getProduct(1L);
+        long staleReadMs = (System.nanoTime() - start) / 1_000_000;
+        ProductDto refreshed = await(() -> productServiceClient.getProduct(1L), new BigDecimal("12.00"));
+
+        // Assert
+        assertEquals(0, new BigDecimal("10.00").compareTo(loaded.getPrice()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(servedWhileRefreshing.getPrice()));
+        assertTrue(staleReadMs < RELOAD_DELAY_MS, "La lectura esperó a la recarga: " + staleReadMs + " ms");
+        assertEquals(0, new BigDecimal("12.00").compareTo(refreshed.getPrice()));
+        server.verify();
+    }
+
+    @Test
+    void testLivePriceChangeRefreshesStaleEntry() {
+        // Arrange
+        server.expect(ExpectedCount.once(), requestTo("http://product-service/api/products/2"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(productJson(2L, "10.00"), MediaType.APPLICATION_JSON));
+        String liveAvailability = "[{\"productId\":2,\"productName\":\"Product 2\",\"available\":true,"
+            + "\"requestedQuantity\":1,\"availableStock\":5,\"unitPrice\":12.00,\"message\":\"Producto disponible\"}]";
+        server.expect(ExpectedCount.once(), requestTo("http://product-service/api/products/check-availability/batch"))
+            .andExpect(method(HttpMethod.POST))
+            .andRespond(withSuccess(liveAvailability, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.manyTimes(), requestTo("http://product-service/api/products/2"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(productJson(2L, "12.00"), MediaType.APPLICATION_JSON));
+
+        // Act
+        ProductDto cached = productServiceClient.getProduct(2L);
+        List<AvailabilityCheckResponse> live = productServiceClient.checkProductsAvailability(
+            List.of(new OrderItemRequestDto(2L, 1)));
+        ProductDto refreshed = await(() -> productServiceClient.getProduct(2L), new BigDecimal("12.00"));
+
+        // Assert
+        assertEquals(0, new BigDecimal("10.00").compareTo(cached.getPrice()));
+        assertEquals(0, new BigDecimal("12.00").compareTo(live.get(0).getUnitPrice()));
+        assertEquals(0, new BigDecimal("12.00").compareTo(refreshed.getPrice()));
+        // Las respuestas en vivo no siembran la caché: getProduct devuelve siempre el producto completo
+        assertEquals(5, refreshed.getStock());
+        server.verify();
+    }
+
+    @Test
+    void testLiveResponseDoesNotSeedCatalogCache() {
+        // Arrange
+        String liveAvailability = "[{\"productId\":3,\"productName\":\"Product 3\",\"available\":true,"
+            + "\"requestedQuantity\":1,\"availableStock\":5,\"unitPrice\":8.00,\"message\":\"Producto disponible\"}]";
+        server.expect(ExpectedCount.once(), requestTo("http://product-service/api/products/check-availability/batch"))
+            .andRespond(withSuccess(liveAvailability, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://product-service/api/products/3"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(productJson(3L, "8.00"), MediaType.APPLICATION_JSON));
+
+        // Act
+        productServiceClient.checkProductsAvailability(List.of(new OrderItemRequestDto(3L, 1)));
+        ProductDto product = productServiceClient.getProduct(3L);
+
+        // Assert
+        assertEquals(5, product.getStock());
+        server.verify();
+    }
+
+    private static String productJson(Long id, String price) {
+        return "{\"id\":" + id + ",\"name\":\"Product " + id + "\",\"price\":" + price + ",\"stock\":5}";
+    }
+
+    private static ProductDto await(Supplier<ProductDto> lookup, BigDecimal expectedPrice) {
+        long deadline = System.currentTimeMillis() + AWAIT_MS;
+        ProductDto product = lookup.get();
+        while (product.getPrice().compareTo(expectedPrice) != 0 && System.currentTimeMillis() < deadline) {
+            sleep(10);
+            product = lookup.get();
+        }
+        return product;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
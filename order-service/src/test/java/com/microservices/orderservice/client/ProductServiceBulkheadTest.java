@@ -0,0 +1,118 @@
+package com.microservices.orderservice.client;
+
+import com.microservices.orderservice.client.ProductServiceClient.AvailabilityCheckResponse;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.exception.ProductServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderbulkheadtest",
+        "spring.jpa.show-sql=false",
+        "app.product-service.url=http://product-service",
+        "app.product-service.wire-format=json",
+        "app.product-service.bulkhead.max-concurrent-calls=2",
+        "app.product-service.bulkhead.max-wait-ms=0",
+        "logging.level.com.microservices.orderservice=OFF",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class ProductServiceBulkheadTest {
+
+    private static final String BATCH_URL = "http://product-service/api/products/check-availability/batch";
+
+    private static final String AVAILABLE = "[{\"productId\":1,\"productName\":\"Product 1\",\"available\":true,"
+        + "\"requestedQuantity\":1,\"availableStock\":5,\"unitPrice\":1.00,\"message\":\"Producto disponible\"}]";
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Test
+    void testSaturatedBulkheadRejectsCallsWithoutReachingProductService() throws Exception {
+        // Arrange: dos llamadas lentas ocupan los dos permisos
+        CountDownLatch slowResponses = new CountDownLatch(1);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.times(2), requestTo(BATCH_URL))
+            .andRespond(request -> {
+                try {
+                    slowResponses.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return withSuccess(AVAILABLE, MediaType.APPLICATION_JSON).createResponse(request);
+            });
+
+        List<OrderItemRequestDto> items = List.of(new OrderItemRequestDto(1L, 1));
+        long rejectedBefore = rejectedCalls();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<List<AvailabilityCheckResponse>>> slowCalls = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            slowCalls.add(executor.submit(() -> productServiceClient.checkProductsAvailability(items)));
+        }
+        awaitAvailablePermits(0);
+
+        // Act
+        List<AvailabilityCheckResponse> rejected = productServiceClient.checkProductsAvailability(items);
+        Supplier<Object> neverCalled = () -> fail("La llamada no debe ejecutarse con el bulkhead lleno");
+        ProductServiceUnavailableException direct = assertThrows(ProductServiceUnavailableException.class,
+            () -> ReflectionTestUtils.invokeMethod(productServiceClient, "protect", neverCalled));
+
+        slowResponses.countDown();
+        for (Future<List<AvailabilityCheckResponse>> slowCall : slowCalls) {
+            assertTrue(slowCall.get(10, TimeUnit.SECONDS).get(0).isAvailable());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertFalse(rejected.get(0).isAvailable());
+        assertTrue(rejected.get(0).getMessage().contains("límite de llamadas concurrentes"));
+        assertTrue(direct.getMessage().contains("límite de llamadas concurrentes"));
+        assertEquals(rejectedBefore + 2, rejectedCalls());
+        awaitAvailablePermits(2);
+        server.verify();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> bulkheadStats() {
+        return (Map<String, Object>) productServiceClient.getResilienceStats().get("bulkhead");
+    }
+
+    private long rejectedCalls() {
+        return (Long) bulkheadStats().get("rejectedCalls");
+    }
+
+    private void awaitAvailablePermits(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((Integer) bulkheadStats().get("availableConcurrentCalls") != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, bulkheadStats().get("availableConcurrentCalls"));
+    }
+}
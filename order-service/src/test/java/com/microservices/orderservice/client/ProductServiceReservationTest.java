@@ -0,0 +1,115 @@
+package com.microservices.orderservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orderservice.client.ProductServiceClient.StockReservationResponse;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderreservationclienttest",
+        "spring.jpa.show-sql=false",
+        "app.product-service.url=http://product-service",
+        "app.product-service.wire-format=json",
+        "logging.level.com.microservices.orderservice=OFF",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class ProductServiceReservationTest {
+
+    private static final String RESERVATIONS_URL = "http://product-service/api/products/reservations";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void testReserveTimeout_KeepsClientReservationIdForRelease() {
+        // Arrange
+        AtomicReference<Object> sentReservationId = new AtomicReference<>();
+        server.expect(requestTo(RESERVATIONS_URL))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(request -> {
+                Map<?, ?> body = objectMapper.readValue(((MockClientHttpRequest) request).getBodyAsBytes(), Map.class);
+                sentReservationId.set(body.get("reservationId"));
+            })
+            .andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+        // Act
+        StockReservationResponse reservation = productServiceClient.reserveStock(
+            List.of(new OrderItemRequestDto(1L, 2)));
+
+        // Assert
+        assertFalse(reservation.isReserved());
+        assertTrue(reservation.isUnknown());
+        assertNotNull(sentReservationId.get());
+        assertEquals(sentReservationId.get(), reservation.getReservationId());
+        server.verify();
+    }
+
+    @Test
+    void testConfirmTimeout_AppliedServerSide_CountsAsConfirmed() {
+        // Arrange
+        server.expect(requestTo(RESERVATIONS_URL + "/res-1/confirm"))
+            .andRespond(withException(new SocketTimeoutException("Read timed out")));
+        server.expect(requestTo(RESERVATIONS_URL + "/res-1"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("{\"reservationId\":\"res-1\",\"status\":\"CONFIRMED\"}", MediaType.APPLICATION_JSON));
+
+        // Act
+        boolean confirmed = productServiceClient.confirmReservation("res-1");
+
+        // Assert
+        assertTrue(confirmed);
+        server.verify();
+    }
+
+    @Test
+    void testConfirmTimeout_StillActive_IsNotConfirmed() {
+        // Arrange
+        server.expect(requestTo(RESERVATIONS_URL + "/res-2/confirm"))
+            .andRespond(withException(new SocketTimeoutException("Read timed out")));
+        server.expect(requestTo(RESERVATIONS_URL + "/res-2"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("{\"reservationId\":\"res-2\",\"status\":\"ACTIVE\"}", MediaType.APPLICATION_JSON));
+
+        // Act
+        boolean confirmed = productServiceClient.confirmReservation("res-2");
+
+        // Assert
+        assertFalse(confirmed);
+        server.verify();
+    }
+}
@@ -0,0 +1,134 @@
+package com.microservices.orderservice.client;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.microservices.orderservice.client.ProductServiceClient.AvailabilityCheckResponse;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.ProductDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderwireformattest",
+        "spring.jpa.show-sql=false",
+        "app.product-service.url=http://product-service",
+        "app.product-service.wire-format=cbor",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class ProductServiceWireFormatTest {
+
+    private static final String BATCH_URL = "http://product-service/api/products/check-availability/batch";
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void testAvailabilityBatchTravelsAsCbor() throws Exception {
+        // Arrange
+        AvailabilityCheckResponse available = new AvailabilityCheckResponse(
+            1L, "Product 1", true, 2, 5, new BigDecimal("10.00"), "Producto disponible");
+        server.expect(requestTo(BATCH_URL))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+            .andExpect(header(HttpHeaders.ACCEPT, "application/cbor, application/json"))
+            .andExpect(request -> {
+                Map<?, ?> body = cborMapper.readValue(((MockClientHttpRequest) request).getBodyAsBytes(), Map.class);
+                assertEquals(List.of(Map.of("productId", 1, "quantity", 2)), body.get("items"));
+            })
+            .andRespond(withSuccess(cborMapper.writeValueAsBytes(List.of(available)), MediaType.APPLICATION_CBOR));
+
+        // Act
+        List<AvailabilityCheckResponse> result = productServiceClient.checkProductsAvailability(
+            List.of(new OrderItemRequestDto(1L, 2)));
+
+        // Assert
+        server.verify();
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).isAvailable());
+        assertEquals(0, new BigDecimal("10.00").compareTo(result.get(0).getUnitPrice()));
+        assertEquals("Product 1", result.get(0).getProductName());
+    }
+
+    @Test
+    void testProductLookupAcceptsJsonResponse() {
+        // Arrange
+        server.expect(requestTo("http://product-service/api/products/2"))
+            .andExpect(method(HttpMethod.GET))
+            .andExpect(header(HttpHeaders.ACCEPT, "application/cbor, application/json"))
+            .andRespond(withSuccess("{\"id\":2,\"name\":\"Product 2\",\"price\":3.50,\"stock\":7}",
+                MediaType.APPLICATION_JSON));
+
+        // Act
+        ProductDto product = productServiceClient.getProduct(2L);
+
+        // Assert
+        server.verify();
+        assertNotNull(product);
+        assertEquals("Product 2", product.getName());
+    }
+
+    @Test
+    @DirtiesContext
+    void testFallsBackToJsonWhenCborIsRejected() {
+        // Arrange
+        String json = "[{\"productId\":3,\"productName\":\"Product 3\",\"available\":true,\"requestedQuantity\":1,"
+            + "\"availableStock\":5,\"unitPrice\":1.00,\"message\":\"Producto disponible\"}]";
+        server.expect(requestTo(BATCH_URL))
+            .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+            .andRespond(withStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        server.expect(requestTo(BATCH_URL))
+            .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+            .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BATCH_URL))
+            .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+            .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+        // Act
+        List<AvailabilityCheckResponse> first = productServiceClient.checkProductsAvailability(
+            List.of(new OrderItemRequestDto(3L, 1)));
+        List<AvailabilityCheckResponse> second = productServiceClient.checkProductsAvailability(
+            List.of(new OrderItemRequestDto(3L, 1)));
+
+        // Assert
+        server.verify();
+        assertTrue(first.get(0).isAvailable());
+        assertTrue(second.get(0).isAvailable());
+    }
+}
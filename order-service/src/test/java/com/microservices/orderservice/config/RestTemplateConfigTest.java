@@ -0,0 +1,107 @@
+package com.microservices.orderservice.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.function.Resolver;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+        .withUserConfiguration(RestTemplateConfig.class);
+
+    @Test
+    void testPoolUsesConfiguredLimitsAndTimeouts() {
+        contextRunner
+            .withPropertyValues(
+                "app.product-service.http.max-connections=20",
+                "app.product-service.http.max-connections-per-route=5",
+                "app.product-service.http.connect-timeout-ms=700",
+                "app.product-service.http.response-timeout-ms=2500",
+                "app.product-service.http.validate-after-inactivity-ms=1500")
+            .run(context -> {
+                // Act
+                PoolingHttpClientConnectionManager pool = connectionManager(context.getBean(CloseableHttpClient.class));
+                @SuppressWarnings("unchecked")
+                Resolver<HttpRoute, ConnectionConfig> connectionConfigs = (Resolver<HttpRoute, ConnectionConfig>)
+                    ReflectionTestUtils.getField(pool, "connectionConfigResolver");
+                ConnectionConfig connectionConfig = connectionConfigs.resolve(null);
+
+                // Assert
+                assertEquals(20, pool.getMaxTotal());
+                assertEquals(5, pool.getDefaultMaxPerRoute());
+                assertEquals(700, connectionConfig.getConnectTimeout().toMilliseconds());
+                assertEquals(2500, connectionConfig.getSocketTimeout().toMilliseconds());
+                assertEquals(1500, connectionConfig.getValidateAfterInactivity().toMilliseconds());
+            });
+    }
+
+    @Test
+    void testSequentialRequestsReuseOneKeepAliveConnection() throws Exception {
+        // Arrange
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        String url = "http://localhost:" + server.getAddress().getPort() + "/ping";
+
+        try {
+            contextRunner.run(context -> {
+                RestTemplate restTemplate = context.getBean(RestTemplate.class);
+
+                // Act
+                for (int i = 0; i < 3; i++) {
+                    assertEquals("pong", restTemplate.getForObject(url, String.class));
+                }
+                PoolStats stats = connectionManager(context.getBean(CloseableHttpClient.class)).getTotalStats();
+
+                // Assert: una sola conexión, devuelta al pool tras cada petición
+                assertEquals(1, clientPorts.size());
+                assertEquals(0, stats.getLeased());
+                assertEquals(1, stats.getAvailable());
+            });
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testHttp2SkipsApacheConnectionPool() {
+        contextRunner
+            .withPropertyValues("app.product-service.http.http2-enabled=true")
+            .run(context -> {
+                // Assert
+                assertTrue(context.getBeansOfType(CloseableHttpClient.class).isEmpty());
+                assertInstanceOf(JdkClientHttpRequestFactory.class,
+                    context.getBean(RestTemplate.class).getRequestFactory());
+            });
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(CloseableHttpClient httpClient) {
+        return (PoolingHttpClientConnectionManager) ReflectionTestUtils.getField(httpClient, "connManager");
+    }
+}
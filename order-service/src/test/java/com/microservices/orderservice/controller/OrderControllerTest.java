@@ -0,0 +1,68 @@
+package com.microservices.orderservice.controller;
+
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.service.IdempotencyService;
+import com.microservices.orderservice.service.OrderIntakeService;
+import com.microservices.orderservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderIntakeService orderIntakeService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @InjectMocks
+    private OrderController orderController;
+
+    @Test
+    void testCreateOrder_ReturnsCreatedOrderWhenStoringIdempotentResponseFails() {
+        // Arrange
+        OrderRequestDto request = new OrderRequestDto();
+        request.setCustomerEmail("test@example.com");
+        request.setCustomerName("Test Customer");
+        request.setItems(List.of(new OrderItemRequestDto(1L, 1)));
+        OrderResponseDto created = new OrderResponseDto(7L, "test@example.com", "Test Customer",
+            Order.OrderStatus.CONFIRMED, BigDecimal.TEN, LocalDateTime.now(), LocalDateTime.now());
+
+        when(idempotencyService.claim("key-7", request)).thenReturn(IdempotencyService.Claim.owned("owner-7"));
+        when(orderIntakeService.isAsync()).thenReturn(false);
+        when(orderService.createOrder(request)).thenReturn(created);
+        doThrow(new DataAccessResourceFailureException("Base de datos no disponible"))
+            .when(idempotencyService).complete(anyString(), any(), anyInt(), any());
+
+        // Act
+        ResponseEntity<OrderResponseDto> response = orderController.createOrder("key-7", request);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(7L, response.getBody().getId());
+        verify(idempotencyService, never()).release(anyString(), anyString());
+    }
+}
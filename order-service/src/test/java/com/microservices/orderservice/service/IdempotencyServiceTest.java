@@ -0,0 +1,168 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderItemResponseDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.IdempotencyRecord;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.exception.IdempotencyConflictException;
+import com.microservices.orderservice.exception.InvalidIdempotencyKeyException;
+import com.microservices.orderservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencytest",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void testRepeatedKey_ReturnsOriginalResponseFromCacheAndTable() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        OrderRequestDto request = newRequest(2);
+        assertFalse(idempotencyService.claim(key, request).isReplay());
+        idempotencyService.complete(key, request, 201, newResponse(42L));
+
+        // Act
+        IdempotencyService.StoredResponse fromCache = idempotencyService.claim(key, newRequest(2)).getReplay();
+        idempotencyService.init();  // Caché vacía, como tras un reinicio
+        IdempotencyService.StoredResponse fromTable = idempotencyService.claim(key, newRequest(2)).getReplay();
+
+        // Assert
+        assertEquals(201, fromCache.getStatus());
+        assertEquals(42L, fromCache.getBody().getId());
+        assertEquals(201, fromTable.getStatus());
+        assertEquals(42L, fromTable.getBody().getId());
+        assertEquals("CONFIRMED", fromTable.getBody().getStatus());
+        assertEquals(1, fromTable.getBody().getItems().size());
+    }
+
+    @Test
+    void testKeyInProgressOrReusedWithOtherPayload_Conflict() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        assertFalse(idempotencyService.claim(key, newRequest(1)).isReplay());
+
+        // Act & Assert
+        IdempotencyConflictException inProgress = assertThrows(IdempotencyConflictException.class,
+            () -> idempotencyService.claim(key, newRequest(1)));
+        IdempotencyConflictException otherPayload = assertThrows(IdempotencyConflictException.class,
+            () -> idempotencyService.claim(key, newRequest(5)));
+
+        assertTrue(inProgress.getMessage().contains("en curso"));
+        assertTrue(otherPayload.getMessage().contains("pedido distinto"));
+    }
+
+    @Test
+    void testReleasedOrExpiredKey_CanBeClaimedAgain() {
+        // Arrange
+        String releasedKey = UUID.randomUUID().toString();
+        String expiredKey = UUID.randomUUID().toString();
+        String owner = idempotencyService.claim(releasedKey, newRequest(1)).getOwner();
+        idempotencyService.release(releasedKey, owner);
+
+        LocalDateTime past = LocalDateTime.now().minusDays(2);
+        idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(expiredKey, "otro-hash", past, past.plusDays(1)));
+
+        // Act & Assert
+        assertFalse(idempotencyService.claim(releasedKey, newRequest(1)).isReplay());
+        assertFalse(idempotencyService.claim(expiredKey, newRequest(1)).isReplay());
+        assertThrows(InvalidIdempotencyKeyException.class, () -> idempotencyService.claim(" ", newRequest(1)));
+    }
+
+    @Test
+    void testInProgressKeyPastItsLease_IsTakenOverOnce() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(5);
+        IdempotencyRecord abandoned = new IdempotencyRecord(
+            key, IdempotencyService.fingerprint(newRequest(1)), claimedAt, claimedAt.plusDays(1));
+        abandoned.setLockedUntil(claimedAt.plusSeconds(60));
+        idempotencyRecordRepository.saveAndFlush(abandoned);
+
+        // Act
+        IdempotencyService.Claim takenOver = idempotencyService.claim(key, newRequest(1));
+
+        // Assert
+        assertFalse(takenOver.isReplay());
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyService.claim(key, newRequest(1)));
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyService.claim(key, newRequest(3)));
+        assertTrue(idempotencyRecordRepository.findById(key).orElseThrow().getLockedUntil().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void testLateReleaseAfterTakeover_KeepsNewOwnersClaim() {
+        // Arrange: la petición original sigue viva tras vencer su plazo y otra retoma la clave
+        String key = UUID.randomUUID().toString();
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(5);
+        IdempotencyRecord slow = new IdempotencyRecord(
+            key, IdempotencyService.fingerprint(newRequest(1)), claimedAt, claimedAt.plusDays(1));
+        slow.setLockedUntil(claimedAt.plusSeconds(60));
+        slow.setOwner("peticion-original");
+        idempotencyRecordRepository.saveAndFlush(slow);
+        String newOwner = idempotencyService.claim(key, newRequest(1)).getOwner();
+
+        // Act: la petición original falla tarde y libera su clave
+        idempotencyService.release(key, "peticion-original");
+
+        // Assert
+        assertEquals(newOwner, idempotencyRecordRepository.findById(key).orElseThrow().getOwner());
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyService.claim(key, newRequest(1)));
+        idempotencyService.release(key, newOwner);
+        assertTrue(idempotencyRecordRepository.findById(key).isEmpty());
+    }
+
+    @Test
+    void testExpiredKeyDelete_KeepsKeyReclaimedMeanwhile() {
+        // Arrange: otra petición reclamó la clave después de que se leyera la fila vencida
+        String key = UUID.randomUUID().toString();
+        String owner = idempotencyService.claim(key, newRequest(1)).getOwner();
+
+        // Act
+        int deleted = idempotencyRecordRepository.deleteIfExpired(key, LocalDateTime.now());
+
+        // Assert
+        assertEquals(0, deleted);
+        assertEquals(owner, idempotencyRecordRepository.findById(key).orElseThrow().getOwner());
+    }
+
+    private OrderRequestDto newRequest(int quantity) {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setCustomerEmail("retry@example.com");
+        request.setCustomerName("Retry Customer");
+        request.setItems(List.of(new OrderItemRequestDto(1L, quantity)));
+        return request;
+    }
+
+    private OrderResponseDto newResponse(Long orderId) {
+        OrderResponseDto response = new OrderResponseDto(orderId, "retry@example.com", "Retry Customer",
+            Order.OrderStatus.CONFIRMED, BigDecimal.valueOf(20.00), LocalDateTime.now(), LocalDateTime.now());
+        response.getItems().add(new OrderItemResponseDto(
+            1L, 1L, "Product 1", 2, BigDecimal.valueOf(10.00), BigDecimal.valueOf(20.00)));
+        return response;
+    }
+}
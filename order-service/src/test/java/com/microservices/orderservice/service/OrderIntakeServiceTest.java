@@ -0,0 +1,147 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.exception.OrderQueueFullException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    @InjectMocks
+    private OrderIntakeService orderIntakeService;
+
+    @BeforeEach
+    void setUp() {
+        // Modo sync: no se arrancan workers y los lotes se procesan desde el test
+        ReflectionTestUtils.setField(orderIntakeService, "queueCapacity", 2);
+        orderIntakeService.start();
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() {
+        // Arrange
+        when(orderService.acceptOrder(any(OrderRequestDto.class)))
+            .thenReturn(pendingOrder(1L), pendingOrder(2L));
+
+        // Act
+        orderIntakeService.submit(newRequest());
+        orderIntakeService.submit(newRequest());
+
+        // Assert
+        assertThrows(OrderQueueFullException.class, () -> orderIntakeService.submit(newRequest()));
+        verify(orderService, times(2)).acceptOrder(any(OrderRequestDto.class));
+        assertEquals(2, orderIntakeService.getStats().get("queued"));
+        assertEquals(1L, orderIntakeService.getStats().get("rejected"));
+    }
+
+    @Test
+    void testSubmit_ReleasesCapacityWhenOrderCannotBeRegistered() {
+        // Arrange
+        when(orderService.acceptOrder(any(OrderRequestDto.class)))
+            .thenThrow(new IllegalStateException("base de datos no disponible"))
+            .thenReturn(pendingOrder(1L), pendingOrder(2L));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> orderIntakeService.submit(newRequest()));
+        orderIntakeService.submit(newRequest());
+        orderIntakeService.submit(newRequest());
+
+        // Assert
+        assertEquals(2, orderIntakeService.getStats().get("inFlight"));
+    }
+
+    @Test
+    void testProcessBatch_OneAvailabilityCallForAllOrders() {
+        // Arrange
+        List<OrderItemRequestDto> firstItems = Arrays.asList(new OrderItemRequestDto(1L, 2), new OrderItemRequestDto(2L, 1));
+        List<OrderItemRequestDto> secondItems = Arrays.asList(new OrderItemRequestDto(3L, 5));
+        ProductServiceClient.AvailabilityCheckResponse product1 = available(1L, 2);
+        ProductServiceClient.AvailabilityCheckResponse product2 = available(2L, 1);
+        ProductServiceClient.AvailabilityCheckResponse product3 = new ProductServiceClient.AvailabilityCheckResponse(
+            3L, "Product 3", false, 5, 1, BigDecimal.TEN, "Stock insuficiente. Disponible: 1");
+
+        when(productServiceClient.checkProductsAvailability(anyList()))
+            .thenReturn(Arrays.asList(product1, product2, product3));
+        when(orderService.processPendingOrder(eq(10L), eq(firstItems), anyList()))
+            .thenReturn(orderWithStatus(10L, Order.OrderStatus.CONFIRMED));
+        when(orderService.processPendingOrder(eq(11L), eq(secondItems), anyList()))
+            .thenReturn(orderWithStatus(11L, Order.OrderStatus.CANCELLED));
+
+        // Act
+        orderIntakeService.processBatch(Arrays.asList(
+            new OrderIntakeService.PendingOrder(10L, firstItems),
+            new OrderIntakeService.PendingOrder(11L, secondItems)));
+
+        // Assert
+        verify(productServiceClient, times(1)).checkProductsAvailability(anyList());
+        verify(orderService).processPendingOrder(10L, firstItems, Arrays.asList(product1, product2));
+        verify(orderService).processPendingOrder(11L, secondItems, List.of(product3));
+        assertEquals(1L, orderIntakeService.getStats().get("confirmed"));
+        assertEquals(1L, orderIntakeService.getStats().get("cancelled"));
+    }
+
+    @Test
+    void testProcessBatch_CancelsOrderWhenProcessingFails() {
+        // Arrange
+        List<OrderItemRequestDto> items = List.of(new OrderItemRequestDto(1L, 1));
+        when(productServiceClient.checkProductsAvailability(anyList())).thenReturn(List.of(available(1L, 1)));
+        when(orderService.processPendingOrder(eq(20L), eq(items), anyList()))
+            .thenThrow(new IllegalStateException("error inesperado"));
+
+        // Act
+        orderIntakeService.processBatch(List.of(new OrderIntakeService.PendingOrder(20L, items)));
+
+        // Assert
+        verify(orderService).updateOrderStatus(20L, Order.OrderStatus.CANCELLED);
+        assertEquals(1L, orderIntakeService.getStats().get("failed"));
+    }
+
+    private OrderRequestDto newRequest() {
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("async@example.com");
+        requestDto.setCustomerName("Async Customer");
+        requestDto.setItems(List.of(new OrderItemRequestDto(1L, 1)));
+        return requestDto;
+    }
+
+    private OrderResponseDto pendingOrder(Long id) {
+        return orderWithStatus(id, Order.OrderStatus.PENDING);
+    }
+
+    private OrderResponseDto orderWithStatus(Long id, Order.OrderStatus status) {
+        Order order = new Order("async@example.com", "Async Customer");
+        order.setId(id);
+        order.setStatus(status);
+        return new OrderResponseDto(order);
+    }
+
+    private ProductServiceClient.AvailabilityCheckResponse available(Long productId, int quantity) {
+        return new ProductServiceClient.AvailabilityCheckResponse(
+            productId, "Product " + productId, true, quantity, 10, BigDecimal.TEN, "Producto disponible");
+    }
+}
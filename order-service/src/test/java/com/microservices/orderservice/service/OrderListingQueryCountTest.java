@@ -0,0 +1,103 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.dto.OrderPageDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.entity.OrderItem;
+import com.microservices.orderservice.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderlistingtest",
+        "spring.jpa.show-sql=false",
+        "app.outbox.relay-interval-ms=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.orders.page.max-size=500",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class OrderListingQueryCountTest {
+
+    private static final int ORDERS = 500;
+    private static final String CUSTOMER_EMAIL = "heavy.customer@example.com";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        if (orderRepository.count() == 0) {
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = new Order(CUSTOMER_EMAIL, "Heavy Customer");
+                order.addItem(new OrderItem(1L, "Product 1", 1, BigDecimal.valueOf(10.00)));
+                order.addItem(new OrderItem(2L, "Product 2", 2, BigDecimal.valueOf(5.00)));
+                order.calculateTotalAmount();
+                orders.add(order);
+            }
+            orderRepository.saveAll(orders);
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void testListing500Orders_TwoStatements() {
+        // Act
+        OrderPageDto page = orderService.getOrdersPage(null, ORDERS);
+
+        // Assert
+        assertEquals(ORDERS, page.getItems().size());
+        assertFalse(page.hasNext());
+        for (OrderResponseDto order : page.getItems()) {
+            assertEquals(2, order.getItems().size());
+        }
+
+        // Una consulta para la página de pedidos y otra para todas sus líneas
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void testCustomerHistoryPages_TwoStatementsPerPage() {
+        // Act
+        OrderPageDto firstPage = orderService.getOrdersPageByCustomerEmail(CUSTOMER_EMAIL, null, 200);
+        long firstPageStatements = statistics.getPrepareStatementCount();
+        OrderPageDto secondPage = orderService.getOrdersPageByCustomerEmail(
+                CUSTOMER_EMAIL, firstPage.getNextCursor(), 200);
+
+        // Assert
+        assertEquals(200, firstPage.getItems().size());
+        assertEquals(200, secondPage.getItems().size());
+        assertTrue(firstPage.getItems().get(199).getId() > secondPage.getItems().get(0).getId());
+        assertEquals(2, firstPageStatements);
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,84 @@
+package com.microservices.orderservice.service;
+
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderbatchingtest",
+        "spring.jpa.show-sql=false",
+        "app.outbox.relay-interval-ms=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class OrderPersistenceBatchingTest {
+
+    private static final int LINES = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ProductServiceClient productServiceClient;
+
+    @Test
+    void testCreateOrderWith50Lines_InsertsAreBatched() {
+        // Arrange
+        List<OrderItemRequestDto> items = new ArrayList<>();
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities = new ArrayList<>();
+        for (long productId = 1; productId <= LINES; productId++) {
+            items.add(new OrderItemRequestDto(productId, 1));
+            availabilities.add(new ProductServiceClient.AvailabilityCheckResponse(
+                productId, "Product " + productId, true, 1, 10, BigDecimal.valueOf(5.00), "Producto disponible"));
+        }
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("bulk@example.com");
+        requestDto.setCustomerName("Bulk Customer");
+        requestDto.setItems(items);
+
+        ProductServiceClient.StockReservationResponse reservation =
+            new ProductServiceClient.StockReservationResponse("reservation-1", "ACTIVE", null, null);
+        when(productServiceClient.checkProductsAvailability(anyList())).thenReturn(availabilities);
+        when(productServiceClient.reserveStock(anyList())).thenReturn(reservation);
+        when(productServiceClient.confirmReservation(anyString())).thenReturn(true);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        OrderResponseDto result = orderService.createOrder(requestDto);
+
+        // Assert
+        assertEquals(LINES, result.getItems().size());
+        // Pedido, sus líneas y el evento ORDER_CREATED del outbox
+        assertEquals(LINES + 2, statistics.getEntityInsertCount());
+        // Un INSERT en lote por tabla más las llamadas a las secuencias, en lugar de 52 INSERT individuales
+        assertTrue(statistics.getPrepareStatementCount() <= 7,
+            "Sentencias preparadas: " + statistics.getPrepareStatementCount());
+    }
+}
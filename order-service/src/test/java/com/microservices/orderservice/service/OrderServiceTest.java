@@ -1,26 +1,41 @@
 package com.microservices.orderservice.service;
 
 import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemProjectionDto;
 import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderPageDto;
 import com.microservices.orderservice.dto.OrderRequestDto;
 import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.dto.ProductDto;
 import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.exception.InvalidCursorException;
 import com.microservices.orderservice.exception.OrderNotFoundException;
 import com.microservices.orderservice.exception.ProductNotAvailableException;
 import com.microservices.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +48,14 @@ class OrderServiceTest {
     @Mock
     private ProductServiceClient productServiceClient;
 
+    @Mock
+    private OutboxService outboxService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
     @InjectMocks
     private OrderService orderService;
 
@@ -58,8 +81,11 @@ class OrderServiceTest {
                 2L, "Product 2", true, 1, 5, BigDecimal.valueOf(100.00), "Producto disponible"
             );
 
-        when(productServiceClient.checkProductAvailability(1L, 2)).thenReturn(availability1);
-        when(productServiceClient.checkProductAvailability(2L, 1)).thenReturn(availability2);
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems()))
+            .thenReturn(Arrays.asList(availability1, availability2));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-1", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(productServiceClient.confirmReservation("res-1")).thenReturn(true);
 
         Order savedOrder = new Order("test@example.com", "Test Customer");
         savedOrder.setId(1L);
@@ -79,9 +105,175 @@ class OrderServiceTest {
         assertEquals("Test Customer", result.getCustomerName());
         assertEquals("PENDING", result.getStatus());
 
-        verify(productServiceClient, times(1)).checkProductAvailability(1L, 2);
-        verify(productServiceClient, times(1)).checkProductAvailability(2L, 1);
+        verify(productServiceClient, times(1)).checkProductsAvailability(requestDto.getItems());
+        verify(productServiceClient, never()).checkProductAvailability(any(), any());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(productServiceClient, times(1)).confirmReservation("res-1");
+        verify(productServiceClient, never()).releaseReservation(any());
+        assertEquals(1, meterRegistry.get("orders.create").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("orders.availability.validation").timer().count());
+    }
+
+    @Test
+    void testCreateOrder_TakesNameAndPriceFromLiveResponse() {
+        // Arrange
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(List.of(new OrderItemRequestDto(1L, 2)));
+
+        ProductServiceClient.AvailabilityCheckResponse availability =
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible"
+            );
+
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems())).thenReturn(List.of(availability));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-6", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(productServiceClient.confirmReservation("res-6")).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(6L);
+            return order;
+        });
+
+        // Act
+        orderService.createOrder(requestDto);
+
+        // Assert
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(orderCaptor.capture());
+        assertEquals("Product 1", orderCaptor.getValue().getItems().get(0).getProductName());
+        assertEquals(0, BigDecimal.valueOf(50.00).compareTo(orderCaptor.getValue().getItems().get(0).getUnitPrice()));
+        verify(productServiceClient, never()).getProduct(any());
+    }
+
+    @Test
+    void testCreateOrder_FallsBackToCatalogCacheWhenLiveResponseLacksNameAndPrice() {
+        // Arrange
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(List.of(new OrderItemRequestDto(1L, 2)));
+
+        ProductServiceClient.AvailabilityCheckResponse availability =
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, null, true, 2, 10, null, "Producto disponible"
+            );
+
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems())).thenReturn(List.of(availability));
+        when(productServiceClient.getProduct(1L)).thenReturn(
+            new ProductDto(1L, "Product 1 (catálogo)", null, BigDecimal.valueOf(45.00), 10, null, null));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-11", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(productServiceClient.confirmReservation("res-11")).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        orderService.createOrder(requestDto);
+
+        // Assert
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(orderCaptor.capture());
+        assertEquals("Product 1 (catálogo)", orderCaptor.getValue().getItems().get(0).getProductName());
+        assertEquals(0, BigDecimal.valueOf(45.00).compareTo(orderCaptor.getValue().getItems().get(0).getUnitPrice()));
+    }
+
+    @Test
+    void testCreateOrder_ReservationRejected() {
+        // Arrange
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(Arrays.asList(new OrderItemRequestDto(1L, 2)));
+
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems())).thenReturn(Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 2, BigDecimal.valueOf(50.00), "Producto disponible")));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            ProductServiceClient.StockReservationResponse.rejected("Stock insuficiente o producto no encontrado para producto ID: 1"));
+
+        // Act & Assert
+        ProductNotAvailableException exception = assertThrows(ProductNotAvailableException.class, () -> {
+            orderService.createOrder(requestDto);
+        });
+
+        assertTrue(exception.getMessage().contains("producto ID: 1"));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(productServiceClient, never()).confirmReservation(any());
+    }
+
+    @Test
+    void testCreateOrder_ReleasesReservationWithUnknownOutcome() {
+        // Arrange
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(Arrays.asList(new OrderItemRequestDto(1L, 2)));
+
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems())).thenReturn(Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible")));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            ProductServiceClient.StockReservationResponse.unknown("res-10", "Error de comunicación: Read timed out"));
+
+        // Act & Assert
+        assertThrows(ProductNotAvailableException.class, () -> {
+            orderService.createOrder(requestDto);
+        });
+
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(productServiceClient, never()).confirmReservation(any());
+        verify(productServiceClient, times(1)).releaseReservation("res-10");
+    }
+
+    @Test
+    void testCreateOrder_ReleasesReservationWhenSaveFails() {
+        // Arrange
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(Arrays.asList(new OrderItemRequestDto(1L, 2)));
+
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems())).thenReturn(Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible")));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-2", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(orderRepository.save(any(Order.class))).thenThrow(new IllegalStateException("DB caída"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> {
+            orderService.createOrder(requestDto);
+        });
+
+        verify(productServiceClient, never()).confirmReservation(any());
+        verify(productServiceClient, times(1)).releaseReservation("res-2");
+    }
+
+    @Test
+    void testCreateOrder_ReleasesReservationWhenFlushFails() {
+        // Arrange
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(Arrays.asList(new OrderItemRequestDto(1L, 2)));
+
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems())).thenReturn(Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible")));
+        when(productServiceClient.reserveStock(requestDto.getItems())).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-3", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("Violación de restricción")).when(orderRepository).flush();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            orderService.createOrder(requestDto);
+        });
+
+        verify(productServiceClient, never()).confirmReservation(any());
+        verify(productServiceClient, times(1)).releaseReservation("res-3");
     }
 
     @Test
@@ -100,15 +292,166 @@ class OrderServiceTest {
                 1L, "Product 1", false, 10, 5, BigDecimal.valueOf(50.00), "Stock insuficiente. Disponible: 5"
             );
 
-        when(productServiceClient.checkProductAvailability(1L, 10)).thenReturn(availability);
+        when(productServiceClient.checkProductsAvailability(requestDto.getItems()))
+            .thenReturn(Arrays.asList(availability));
 
         // Act & Assert
         assertThrows(ProductNotAvailableException.class, () -> {
             orderService.createOrder(requestDto);
         });
 
-        verify(productServiceClient, times(1)).checkProductAvailability(1L, 10);
+        verify(productServiceClient, times(1)).checkProductsAvailability(requestDto.getItems());
+        verify(productServiceClient, never()).reserveStock(any());
         verify(orderRepository, never()).save(any(Order.class));
+        assertEquals(1, meterRegistry.get("orders.create").tag("outcome", "rejected").timer().count());
+        assertEquals(1.0, meterRegistry.get("orders.products.unavailable").counter().count());
+    }
+
+    @Test
+    void testCreateOrder_FanOutMode_PreservesOrderAndAggregatesErrors() {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(orderService, "productServiceExecutor", executor);
+        ReflectionTestUtils.setField(orderService, "validationMode", "fan-out");
+        ReflectionTestUtils.setField(orderService, "validationTimeoutMs", 2000L);
+
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(Arrays.asList(
+            new OrderItemRequestDto(1L, 2),
+            new OrderItemRequestDto(2L, 10),
+            new OrderItemRequestDto(3L, 4)
+        ));
+
+        when(productServiceClient.checkProductAvailability(1L, 2)).thenReturn(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible"));
+        when(productServiceClient.checkProductAvailability(2L, 10)).thenReturn(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                2L, "Product 2", false, 10, 5, BigDecimal.valueOf(10.00), "Stock insuficiente. Disponible: 5"));
+        when(productServiceClient.checkProductAvailability(3L, 4)).thenReturn(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                3L, "Product 3", false, 4, 1, BigDecimal.valueOf(10.00), "Stock insuficiente. Disponible: 1"));
+
+        try {
+            // Act & Assert
+            ProductNotAvailableException exception = assertThrows(ProductNotAvailableException.class, () -> {
+                orderService.createOrder(requestDto);
+            });
+
+            assertEquals("Productos no disponibles: Stock insuficiente. Disponible: 5, Stock insuficiente. Disponible: 1",
+                exception.getMessage());
+            verify(productServiceClient, never()).checkProductsAvailability(any());
+            verify(orderRepository, never()).save(any(Order.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCreateOrder_FanOutMode_DeadlineExceeded() {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(orderService, "productServiceExecutor", executor);
+        ReflectionTestUtils.setField(orderService, "validationMode", "fan-out");
+        ReflectionTestUtils.setField(orderService, "validationTimeoutMs", 50L);
+
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("test@example.com");
+        requestDto.setCustomerName("Test Customer");
+        requestDto.setItems(Arrays.asList(new OrderItemRequestDto(1L, 2)));
+
+        when(productServiceClient.checkProductAvailability(1L, 2)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible");
+        });
+
+        try {
+            // Act & Assert
+            ProductNotAvailableException exception = assertThrows(ProductNotAvailableException.class, () -> {
+                orderService.createOrder(requestDto);
+            });
+
+            assertTrue(exception.getMessage().contains("Tiempo de espera agotado"));
+            verify(orderRepository, never()).save(any(Order.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testProcessPendingOrder_ReservesAndConfirms() {
+        // Arrange
+        Order pendingOrder = new Order("async@example.com", "Async Customer");
+        pendingOrder.setId(7L);
+        List<OrderItemRequestDto> items = Arrays.asList(new OrderItemRequestDto(1L, 2));
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities = Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible"));
+
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(pendingOrder));
+        when(productServiceClient.reserveStock(items)).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-7", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(productServiceClient.confirmReservation("res-7")).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OrderResponseDto result = orderService.processPendingOrder(7L, items, availabilities);
+
+        // Assert
+        assertEquals("CONFIRMED", result.getStatus());
+        assertEquals(1, result.getItems().size());
+        assertEquals(0, BigDecimal.valueOf(100.00).compareTo(result.getTotalAmount()));
+        verify(productServiceClient, never()).checkProductsAvailability(any());
+    }
+
+    @Test
+    void testProcessPendingOrder_ReleasesReservationWhenFlushFails() {
+        // Arrange
+        Order pendingOrder = new Order("async@example.com", "Async Customer");
+        pendingOrder.setId(9L);
+        List<OrderItemRequestDto> items = Arrays.asList(new OrderItemRequestDto(1L, 2));
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities = Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(50.00), "Producto disponible"));
+
+        when(orderRepository.findById(9L)).thenReturn(Optional.of(pendingOrder));
+        when(productServiceClient.reserveStock(items)).thenReturn(
+            new ProductServiceClient.StockReservationResponse("res-9", "ACTIVE", LocalDateTime.now().plusMinutes(15), null));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("Violación de restricción")).when(orderRepository).flush();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            orderService.processPendingOrder(9L, items, availabilities);
+        });
+
+        verify(productServiceClient, never()).confirmReservation(any());
+        verify(productServiceClient, times(1)).releaseReservation("res-9");
+    }
+
+    @Test
+    void testProcessPendingOrder_CancelledWhenProductUnavailable() {
+        // Arrange
+        Order pendingOrder = new Order("async@example.com", "Async Customer");
+        pendingOrder.setId(8L);
+        List<OrderItemRequestDto> items = Arrays.asList(new OrderItemRequestDto(1L, 20));
+        List<ProductServiceClient.AvailabilityCheckResponse> availabilities = Arrays.asList(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", false, 20, 3, BigDecimal.valueOf(50.00), "Stock insuficiente. Disponible: 3"));
+
+        when(orderRepository.findById(8L)).thenReturn(Optional.of(pendingOrder));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OrderResponseDto result = orderService.processPendingOrder(8L, items, availabilities);
+
+        // Assert
+        assertEquals("CANCELLED", result.getStatus());
+        assertTrue(result.getItems().isEmpty());
+        verify(productServiceClient, never()).reserveStock(any());
     }
 
     @Test
@@ -190,4 +533,57 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, never()).save(any(Order.class));
     }
+
+    @Test
+    void testGetOrdersPageByCustomerEmail_ReturnsCursorOfLastOrder() {
+        // Arrange
+        ReflectionTestUtils.setField(orderService, "maxPageSize", 200);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 10, 12, 0);
+        OrderResponseDto newest = newOrderRow(3L, createdAt.plusMinutes(2));
+        OrderResponseDto middle = newOrderRow(2L, createdAt.plusMinutes(1));
+        OrderResponseDto oldest = newOrderRow(1L, createdAt);
+        when(orderRepository.findFirstPageByCustomerEmail(eq("test@example.com"), any(Pageable.class)))
+                .thenReturn(Arrays.asList(newest, middle, oldest));
+        when(orderRepository.findPageByCustomerEmailBefore(eq("test@example.com"), eq(createdAt.plusMinutes(1)),
+                eq(2L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(oldest));
+        when(orderRepository.findItemsByOrderIds(anyCollection())).thenReturn(Arrays.asList(
+                new OrderItemProjectionDto(3L, 30L, 1L, "Product 1", 1, BigDecimal.TEN, BigDecimal.TEN),
+                new OrderItemProjectionDto(2L, 20L, 1L, "Product 1", 2, BigDecimal.TEN, BigDecimal.valueOf(20)),
+                new OrderItemProjectionDto(3L, 31L, 2L, "Product 2", 1, BigDecimal.ONE, BigDecimal.ONE)))
+                .thenReturn(Arrays.asList(
+                new OrderItemProjectionDto(1L, 10L, 1L, "Product 1", 1, BigDecimal.TEN, BigDecimal.TEN)));
+
+        // Act
+        OrderPageDto firstPage = orderService.getOrdersPageByCustomerEmail("test@example.com", null, 2);
+        OrderPageDto secondPage = orderService.getOrdersPageByCustomerEmail(
+                "test@example.com", firstPage.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(2, firstPage.getItems().size());
+        assertEquals(3L, firstPage.getItems().get(0).getId());
+        assertEquals(2, firstPage.getItems().get(0).getItems().size());
+        assertEquals(1, firstPage.getItems().get(1).getItems().size());
+        assertTrue(firstPage.hasNext());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(1L, secondPage.getItems().get(0).getId());
+        assertEquals(1, secondPage.getItems().get(0).getItems().size());
+        assertFalse(secondPage.hasNext());
+
+        // Se pide un elemento extra para detectar la página siguiente
+        verify(orderRepository).findFirstPageByCustomerEmail("test@example.com", PageRequest.of(0, 3));
+        verify(orderRepository, times(2)).findItemsByOrderIds(anyCollection());
+    }
+
+    @Test
+    void testGetOrdersPage_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> orderService.getOrdersPage("no-es-un-cursor", 10));
+        verify(orderRepository, never()).findPageBefore(any(), any(), any());
+    }
+
+    private OrderResponseDto newOrderRow(Long id, LocalDateTime createdAt) {
+        return new OrderResponseDto(id, "test@example.com", "Test Customer", Order.OrderStatus.CONFIRMED,
+                BigDecimal.valueOf(10.00), createdAt, createdAt);
+    }
 }
\ No newline at end of file
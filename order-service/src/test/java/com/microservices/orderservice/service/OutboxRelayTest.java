@@ -0,0 +1,121 @@
+package com.microservices.orderservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.dto.OrderRequestDto;
+import com.microservices.orderservice.dto.OrderResponseDto;
+import com.microservices.orderservice.entity.Order;
+import com.microservices.orderservice.entity.OutboxEvent;
+import com.microservices.orderservice.exception.ProductNotAvailableException;
+import com.microservices.orderservice.messaging.InMemoryOutboxEventSink;
+import com.microservices.orderservice.repository.OrderRepository;
+import com.microservices.orderservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderoutboxtest",
+        "spring.jpa.show-sql=false",
+        // El relay se ejecuta a mano desde los tests
+        "app.outbox.relay-interval-ms=3600000",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class OutboxRelayTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxEventSink sink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ProductServiceClient productServiceClient;
+
+    private OrderRequestDto requestDto;
+
+    @BeforeEach
+    void setUp() {
+        requestDto = new OrderRequestDto();
+        requestDto.setCustomerEmail("outbox@example.com");
+        requestDto.setCustomerName("Outbox Customer");
+        requestDto.setItems(List.of(new OrderItemRequestDto(1L, 2)));
+
+        when(productServiceClient.checkProductsAvailability(anyList())).thenReturn(List.of(
+            new ProductServiceClient.AvailabilityCheckResponse(
+                1L, "Product 1", true, 2, 10, BigDecimal.valueOf(5.00), "Producto disponible")));
+        when(productServiceClient.reserveStock(anyList())).thenReturn(
+            new ProductServiceClient.StockReservationResponse("reservation-1", "ACTIVE", null, null));
+    }
+
+    @Test
+    void testOrderLifecyclePublishedInOrder() throws Exception {
+        // Arrange
+        when(productServiceClient.confirmReservation(anyString())).thenReturn(true);
+        outboxRelay.relay();
+        int alreadyPublished = sink.getRecentEvents().size();
+
+        // Act
+        OrderResponseDto order = orderService.createOrder(requestDto);
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.PROCESSING);
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.PROCESSING);
+        int published = outboxRelay.relay();
+
+        // Assert
+        List<OutboxEvent> events = sink.getRecentEvents().subList(alreadyPublished, sink.getRecentEvents().size());
+        assertEquals(2, published);
+        assertEquals(List.of(OutboxService.ORDER_CREATED, OutboxService.ORDER_STATUS_CHANGED),
+            events.stream().map(OutboxEvent::getEventType).collect(Collectors.toList()));
+
+        JsonNode changed = objectMapper.readTree(events.get(1).getPayload());
+        assertEquals(order.getId().toString(), events.get(1).getAggregateId());
+        assertEquals("PENDING", changed.get("previousStatus").asText());
+        assertEquals("PROCESSING", changed.get("status").asText());
+        assertEquals(0L, outboxEventRepository.countByPublishedAtIsNull());
+    }
+
+    @Test
+    void testRolledBackOrderLeavesNoEvent() {
+        // Arrange
+        when(productServiceClient.confirmReservation(anyString())).thenReturn(false);
+        long ordersBefore = orderRepository.count();
+        long eventsBefore = outboxEventRepository.count();
+
+        // Act
+        assertThrows(ProductNotAvailableException.class, () -> orderService.createOrder(requestDto));
+
+        // Assert
+        assertEquals(ordersBefore, orderRepository.count());
+        assertEquals(eventsBefore, outboxEventRepository.count());
+    }
+}
@@ -0,0 +1,116 @@
+package com.microservices.orderservice.service;
+
+import brave.handler.MutableSpan;
+import com.microservices.orderservice.client.ProductServiceClient;
+import com.microservices.orderservice.dto.OrderItemRequestDto;
+import com.microservices.orderservice.tracing.InMemorySpanHandler;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.hamcrest.Matchers.startsWith;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:ordertracingtest",
+        "spring.jpa.show-sql=false",
+        "management.tracing.sampling.probability=1.0",
+        "app.tracing.exporter=memory",
+        "app.product-service.url=http://product-service",
+        "logging.level.com.microservices.orderservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class TracingTest {
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("productServiceExecutor")
+    private ExecutorService productServiceExecutor;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private InMemorySpanHandler spanHandler;
+
+    @Test
+    void testTraceContextPropagatedToProductService() {
+        // Arrange
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        Span parent = tracer.nextSpan().name("create-order").start();
+        String traceId = parent.context().traceId();
+
+        server.expect(requestTo("http://product-service/api/products/check-availability/batch"))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(header("traceparent", startsWith("00-" + traceId + "-")))
+            .andRespond(withSuccess(
+                "[{\"productId\":1,\"productName\":\"Product 1\",\"available\":true,\"requestedQuantity\":1,"
+                    + "\"availableStock\":5,\"unitPrice\":10.00,\"message\":\"Producto disponible\"}]",
+                MediaType.APPLICATION_JSON));
+
+        // Act
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            productServiceClient.checkProductsAvailability(List.of(new OrderItemRequestDto(1L, 1)));
+        } finally {
+            parent.end();
+        }
+
+        // Assert
+        server.verify();
+        MutableSpan clientSpan = spanHandler.getSpans(traceId).stream()
+            .filter(span -> span.kind() == brave.Span.Kind.CLIENT)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Sin span de cliente HTTP"));
+        assertEquals(parent.context().spanId(), clientSpan.parentId());
+    }
+
+    @Test
+    void testFanOutExecutorKeepsTraceContext() throws Exception {
+        // Arrange
+        Observation request = Observation.start("fan-out", observationRegistry);
+
+        // Act
+        String requestTraceId;
+        String workerTraceId;
+        try (Observation.Scope scope = request.openScope()) {
+            requestTraceId = tracer.currentSpan().context().traceId();
+            workerTraceId = productServiceExecutor.submit(() -> {
+                Span current = tracer.currentSpan();
+                return current != null ? current.context().traceId() : null;
+            }).get();
+        } finally {
+            request.stop();
+        }
+
+        // Assert
+        assertEquals(requestTraceId, workerTraceId);
+    }
+}
@@ -0,0 +1,102 @@
+package com.microservices.productservice.config;
+
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Trazas distribuidas.
+ *
+ * El contexto W3C (traceparent) viaja en las llamadas del RestTemplate y se continúa en los
+ * controladores; aquí se añaden spans hijos para cada llamada a un repositorio, el muestreo
+ * por límite de trazas por segundo y la exclusión de tareas programadas y de Actuator.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Muestreo con límite de trazas por segundo: el coste no crece con el tráfico.
+     * Sin esta opción se usa management.tracing.sampling.probability.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.sampler", havingValue = "rate-limited")
+    public Sampler rateLimitedSampler(@Value("${app.tracing.traces-per-second:10}") int tracesPerSecond) {
+        return RateLimitingSampler.create(tracesPerSecond);
+    }
+
+    /**
+     * Las tareas programadas y los scrapes de Actuator no abren trazas propias
+     */
+    @Bean
+    public ObservationPredicate skipBackgroundObservations() {
+        return (name, context) -> {
+            if (name.startsWith("tasks.scheduled")) {
+                return false;
+            }
+            if (context instanceof ServerRequestObservationContext request) {
+                return !request.getCarrier().getRequestURI().startsWith("/actuator");
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Span por cada método de repositorio invocado dentro de una traza
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(new RepositorySpanInterceptor(
+                                    tracer, repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static class RepositorySpanInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<Tracer> tracerProvider;
+        private final String repositoryName;
+
+        RepositorySpanInterceptor(ObjectProvider<Tracer> tracerProvider, String repositoryName) {
+            this.tracerProvider = tracerProvider;
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Tracer tracer = tracerProvider.getIfAvailable();
+            // Fuera de una traza (arranque, tareas programadas) no se abre una traza nueva
+            if (tracer == null || tracer.currentSpan() == null) {
+                return invocation.proceed();
+            }
+
+            Span span = tracer.nextSpan().name(repositoryName + "." + invocation.getMethod().getName()).start();
+            try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+    }
+}
@@ -2,30 +2,88 @@ package com.microservices.productservice.controller;
 
 import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
 import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.dto.BatchAvailabilityCheckRequestDto;
+import com.microservices.productservice.dto.ProductImportResultDto;
+import com.microservices.productservice.dto.ProductPageDto;
 import com.microservices.productservice.dto.ProductRequestDto;
 import com.microservices.productservice.dto.ProductResponseDto;
+import com.microservices.productservice.dto.ProductSearchResultDto;
+import com.microservices.productservice.exception.InvalidCursorException;
+import com.microservices.productservice.exception.InvalidExportFormatException;
+import com.microservices.productservice.exception.InvalidImportException;
 import com.microservices.productservice.exception.ProductNotFoundException;
+import com.microservices.productservice.service.LeanAvailabilityService;
+import com.microservices.productservice.service.OutboxRelay;
+import com.microservices.productservice.service.ProductCache;
+import com.microservices.productservice.service.ProductExportService;
+import com.microservices.productservice.service.ProductImportService;
+import com.microservices.productservice.service.ProductSearchIndex;
 import com.microservices.productservice.service.ProductService;
+import com.microservices.productservice.service.StockLedger;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("/api/products")
 @Tag(name = "Product Service", description = "API para la gestión de productos")
 public class ProductController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private LeanAvailabilityService leanAvailabilityService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Value("${app.products.http-cache.max-age-seconds:0}")
+    private long httpCacheMaxAgeSeconds;
+
     @PostMapping
     @Operation(summary = "Crear un nuevo producto")
     public ResponseEntity<ProductResponseDto> createProduct(@Valid @RequestBody ProductRequestDto productRequest) {
@@ -37,24 +95,147 @@ public class ProductController {
     @Operation(summary = "Obtener detalles de un producto")
     public ResponseEntity<ProductResponseDto> getProduct(@PathVariable Long productId) {
         ProductResponseDto product = productService.getProductById(productId);
-        return ResponseEntity.ok(product);
+
+        // Si If-None-Match o If-Modified-Since siguen vigentes, Spring responde 304 sin serializar el cuerpo
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(productEtag(product))
+                .cacheControl(catalogCacheControl())
+                .varyBy(HttpHeaders.ACCEPT);
+        // Con el ledger el stock cambia antes que updatedAt: solo el ETag refleja esos cambios
+        if (product.getUpdatedAt() != null && !stockLedger.isEnabled()) {
+            response.lastModified(product.getUpdatedAt().atZone(ZoneId.systemDefault()));
+        }
+        return response.body(product);
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los productos")
-    public ResponseEntity<List<ProductResponseDto>> getAllProducts() {
-        List<ProductResponseDto> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+    @Operation(summary = "Listar productos paginados por cursor",
+               description = "El cursor de la página siguiente se devuelve en la cabecera X-Next-Cursor")
+    public ResponseEntity<List<ProductResponseDto>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        // La versión se lee antes que la página: un cambio concurrente cuesta como mucho un 200 de más
+        String etag = "W/\"" + productService.getCatalogVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(catalogCacheControl())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        ProductPageDto page = productService.getProductsPage(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(catalogCacheControl())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar productos por nombre y descripción",
+               description = "Todos los términos deben coincidir (admiten prefijo); el total de coincidencias se devuelve en la cabecera X-Total-Count")
+    public ResponseEntity<List<ProductResponseDto>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        ProductSearchResultDto result = productService.searchProducts(query, limit);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalMatches()))
+                .body(result.getItems());
+    }
+
+    @GetMapping("/search/stats")
+    @Operation(summary = "Estadísticas del índice de búsqueda")
+    public ResponseEntity<Map<String, Object>> getSearchStats() {
+        return ResponseEntity.ok(productSearchIndex.getStats());
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    @Operation(summary = "Listar todo el catálogo en streaming (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = outputStream ->
+            productExportService.export(outputStream, ProductExportService.Format.NDJSON, false);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar el catálogo completo en streaming (NDJSON o CSV, opcionalmente gzip)")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        ProductExportService.Format exportFormat;
+        try {
+            exportFormat = ProductExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportFormatException("Los formatos válidos son: ndjson, csv");
+        }
+
+        StreamingResponseBody body = outputStream -> productExportService.export(outputStream, exportFormat, gzip);
+        String extension = exportFormat == ProductExportService.Format.CSV ? "csv" : "ndjson";
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == ProductExportService.Format.CSV ?
+                    new MediaType("text", "csv", StandardCharsets.UTF_8) :
+                    MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + extension + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @PostMapping("/check-availability")
     @Operation(summary = "Verificar disponibilidad de productos")
     public ResponseEntity<AvailabilityCheckResponseDto> checkAvailability(
             @Valid @RequestBody AvailabilityCheckRequestDto availabilityRequest) {
-        AvailabilityCheckResponseDto response = productService.checkAvailability(availabilityRequest);
+        AvailabilityCheckResponseDto response = leanAvailabilityService.isEnabled() ?
+            leanAvailabilityService.checkAvailability(availabilityRequest) :
+            productService.checkAvailability(availabilityRequest);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/check-availability/batch")
+    @Operation(summary = "Verificar disponibilidad de varios productos en una sola llamada")
+    public ResponseEntity<List<AvailabilityCheckResponseDto>> checkAvailabilityBatch(
+            @Valid @RequestBody BatchAvailabilityCheckRequestDto batchRequest) {
+        List<AvailabilityCheckResponseDto> responses = productService.checkAvailabilityBatch(batchRequest.getItems());
+        return ResponseEntity.ok(responses);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    @Operation(summary = "Importación masiva de productos (CSV o NDJSON, opcionalmente gzip)")
+    public ResponseEntity<ProductImportResultDto> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        ProductImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV) ?
+            ProductImportService.Format.CSV :
+            ProductImportService.Format.NDJSON;
+        InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+
+        ProductImportResultDto result = productImportService.importProducts(input, format);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Estadísticas de la caché de productos")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(productCache.getStats());
+    }
+
+    @GetMapping("/outbox/stats")
+    @Operation(summary = "Estado del outbox de eventos de stock")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(outboxRelay.getStats());
+    }
+
     @PutMapping("/{productId}")
     @Operation(summary = "Actualizar un producto existente")
     public ResponseEntity<ProductResponseDto> updateProduct(
@@ -74,7 +255,46 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * ETag débil de un producto: el mismo valor vale para JSON y CBOR, con o sin gzip.
+     * Incluye el stock servido porque con el ledger cambia sin tocar updatedAt.
+     */
+    private static String productEtag(ProductResponseDto product) {
+        return "W/\"" + product.getId() + "-" + product.getUpdatedAt() + "-" + product.getStock() + "\"";
+    }
+
+    private CacheControl catalogCacheControl() {
+        // Sin max-age el cliente puede guardar la respuesta pero debe revalidarla en cada uso
+        return httpCacheMaxAgeSeconds > 0 ?
+            CacheControl.maxAge(httpCacheMaxAgeSeconds, TimeUnit.SECONDS) :
+            CacheControl.noCache();
+    }
+
     // Manejador de excepciones específicas
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidImport(InvalidImportException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Importación inválida");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidExportFormat(InvalidExportFormatException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Formato inválido");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Cursor inválido");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleProductNotFound(ProductNotFoundException ex) {
         Map<String, String> error = new HashMap<>();
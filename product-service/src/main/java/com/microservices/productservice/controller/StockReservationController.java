@@ -0,0 +1,78 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.dto.StockReservationRequestDto;
+import com.microservices.productservice.dto.StockReservationResponseDto;
+import com.microservices.productservice.exception.InsufficientStockException;
+import com.microservices.productservice.exception.InvalidReservationStateException;
+import com.microservices.productservice.exception.ReservationNotFoundException;
+import com.microservices.productservice.service.StockReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/products/reservations")
+@Tag(name = "Stock Reservations", description = "API para reservar, confirmar y liberar stock")
+public class StockReservationController {
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @PostMapping
+    @Operation(summary = "Reservar stock para todas las líneas de un pedido (todo o nada)")
+    public ResponseEntity<StockReservationResponseDto> reserve(
+            @Valid @RequestBody StockReservationRequestDto reservationRequest) {
+        StockReservationResponseDto reservation = reservationService.reserve(reservationRequest);
+        return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{reservationId}")
+    @Operation(summary = "Obtener el estado de una reserva")
+    public ResponseEntity<StockReservationResponseDto> getReservation(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.getReservation(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    @Operation(summary = "Confirmar una reserva activa")
+    public ResponseEntity<StockReservationResponseDto> confirm(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.confirm(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/release")
+    @Operation(summary = "Liberar una reserva activa y devolver el stock")
+    public ResponseEntity<StockReservationResponseDto> release(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.release(reservationId));
+    }
+
+    // Manejadores de excepciones específicas
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleReservationNotFound(ReservationNotFoundException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Reserva no encontrada");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, String>> handleInsufficientStock(InsufficientStockException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Stock insuficiente");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidReservationStateException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidReservationState(InvalidReservationStateException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Estado de reserva inválido");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+}
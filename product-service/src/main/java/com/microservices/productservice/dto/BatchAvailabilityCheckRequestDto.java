@@ -0,0 +1,29 @@
+package com.microservices.productservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BatchAvailabilityCheckRequestDto {
+
+    @NotEmpty(message = "Debe incluir al menos un producto a verificar")
+    @Valid
+    private List<AvailabilityCheckRequestDto> items;
+
+    // Constructores
+    public BatchAvailabilityCheckRequestDto() {
+    }
+
+    public BatchAvailabilityCheckRequestDto(List<AvailabilityCheckRequestDto> items) {
+        this.items = items;
+    }
+
+    // Getters y Setters
+    public List<AvailabilityCheckRequestDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AvailabilityCheckRequestDto> items) {
+        this.items = items;
+    }
+}
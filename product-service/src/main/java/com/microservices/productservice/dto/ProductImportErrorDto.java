@@ -0,0 +1,33 @@
+package com.microservices.productservice.dto;
+
+public class ProductImportErrorDto {
+
+    private long line;
+    private String message;
+
+    // Constructores
+    public ProductImportErrorDto() {
+    }
+
+    public ProductImportErrorDto(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters y Setters
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
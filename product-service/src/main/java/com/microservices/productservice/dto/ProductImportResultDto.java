@@ -0,0 +1,71 @@
+package com.microservices.productservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResultDto {
+
+    private String format;
+    private long totalRows;
+    private long acceptedRows;
+    private long rejectedRows;
+    private long elapsedMs;
+    private List<ProductImportErrorDto> errors = new ArrayList<>();
+
+    // Constructores
+    public ProductImportResultDto() {
+    }
+
+    public ProductImportResultDto(String format) {
+        this.format = format;
+    }
+
+    // Getters y Setters
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    public void setAcceptedRows(long acceptedRows) {
+        this.acceptedRows = acceptedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(long rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public List<ProductImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ProductImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,39 @@
+package com.microservices.productservice.dto;
+
+import java.util.List;
+
+public class ProductPageDto {
+
+    private List<ProductResponseDto> items;
+    private String nextCursor;
+
+    // Constructores
+    public ProductPageDto() {
+    }
+
+    public ProductPageDto(List<ProductResponseDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters y Setters
+    public List<ProductResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponseDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -4,13 +4,16 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 public class ProductRequestDto {
 
     @NotBlank(message = "El nombre del producto es obligatorio")
+    @Size(max = 255, message = "El nombre no puede superar los 255 caracteres")
     private String name;
 
+    @Size(max = 1000, message = "La descripción no puede superar los 1000 caracteres")
     private String description;
 
     @NotNull(message = "El precio es obligatorio")
@@ -0,0 +1,35 @@
+package com.microservices.productservice.dto;
+
+import java.util.List;
+
+public class ProductSearchResultDto {
+
+    private List<ProductResponseDto> items;
+    private long totalMatches;
+
+    // Constructores
+    public ProductSearchResultDto() {
+    }
+
+    public ProductSearchResultDto(List<ProductResponseDto> items, long totalMatches) {
+        this.items = items;
+        this.totalMatches = totalMatches;
+    }
+
+    // Getters y Setters
+    public List<ProductResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponseDto> items) {
+        this.items = items;
+    }
+
+    public long getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(long totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+}
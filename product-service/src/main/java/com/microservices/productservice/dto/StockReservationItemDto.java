@@ -0,0 +1,47 @@
+package com.microservices.productservice.dto;
+
+import com.microservices.productservice.entity.StockReservationItem;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockReservationItemDto {
+
+    @NotNull(message = "El ID del producto es obligatorio")
+    private Long productId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad debe ser mayor que 0")
+    private Integer quantity;
+
+    // Constructores
+    public StockReservationItemDto() {
+    }
+
+    public StockReservationItemDto(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    // Constructor desde entidad
+    public StockReservationItemDto(StockReservationItem item) {
+        this.productId = item.getProductId();
+        this.quantity = item.getQuantity();
+    }
+
+    // Getters y Setters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
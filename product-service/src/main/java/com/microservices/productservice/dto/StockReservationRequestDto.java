@@ -0,0 +1,62 @@
+package com.microservices.productservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class StockReservationRequestDto {
+
+    @NotEmpty(message = "La reserva debe incluir al menos un producto")
+    @Valid
+    private List<StockReservationItemDto> items;
+
+    // Opcional: ID elegido por el cliente. Repetir la petición con el mismo ID devuelve la
+    // reserva ya creada, así una petición que expiró por timeout puede consultarse o liberarse
+    @Size(max = 36, message = "El ID de reserva no puede superar 36 caracteres")
+    private String reservationId;
+
+    // Opcional: si no se indica se usa el TTL por defecto del servicio
+    @Min(value = 1, message = "El TTL debe ser mayor que 0")
+    private Integer ttlSeconds;
+
+    // Constructores
+    public StockReservationRequestDto() {
+    }
+
+    public StockReservationRequestDto(List<StockReservationItemDto> items, Integer ttlSeconds) {
+        this.items = items;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public StockReservationRequestDto(String reservationId, List<StockReservationItemDto> items, Integer ttlSeconds) {
+        this(items, ttlSeconds);
+        this.reservationId = reservationId;
+    }
+
+    // Getters y Setters
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public List<StockReservationItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReservationItemDto> items) {
+        this.items = items;
+    }
+
+    public Integer getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Integer ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservices.productservice.dto;
+
+import com.microservices.productservice.entity.StockReservation;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StockReservationResponseDto {
+
+    private String reservationId;
+    private String status;
+    private LocalDateTime expiresAt;
+    private List<StockReservationItemDto> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructores
+    public StockReservationResponseDto() {
+    }
+
+    public StockReservationResponseDto(StockReservation reservation) {
+        this.reservationId = reservation.getId();
+        this.status = reservation.getStatus().toString();
+        this.expiresAt = reservation.getExpiresAt();
+        this.items = reservation.getItems().stream()
+                .map(StockReservationItemDto::new)
+                .collect(Collectors.toList());
+        this.createdAt = reservation.getCreatedAt();
+        this.updatedAt = reservation.getUpdatedAt();
+    }
+
+    // Getters y Setters
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public List<StockReservationItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReservationItemDto> items) {
+        this.items = items;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
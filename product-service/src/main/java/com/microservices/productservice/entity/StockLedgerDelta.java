@@ -0,0 +1,61 @@
+package com.microservices.productservice.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Delta de stock del ledger pendiente de aplicar a la tabla products.
+ * Se inserta en la misma transacción que la reserva o liberación que lo origina, de modo
+ * que tras una caída los deltas confirmados siguen en la base de datos y no se pierden.
+ */
+@Entity
+@Table(name = "stock_ledger_deltas", indexes = {
+        @Index(name = "idx_stock_ledger_deltas_product_id", columnList = "product_id")
+})
+public class StockLedgerDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_ledger_deltas_seq")
+    @SequenceGenerator(name = "stock_ledger_deltas_seq", sequenceName = "stock_ledger_deltas_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Unidades a descontar del stock persistido (negativo cuando se devuelven unidades)
+    @Column(nullable = false)
+    private Integer delta;
+
+    // Constructores
+    public StockLedgerDelta() {
+    }
+
+    public StockLedgerDelta(Long productId, Integer delta) {
+        this.productId = productId;
+        this.delta = delta;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,129 @@
+package com.microservices.productservice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_stock_reservations_status_expires", columnList = "status, expires_at")
+})
+public class StockReservation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<StockReservationItem> items = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Enumeración para el estado de la reserva
+    public enum ReservationStatus {
+        ACTIVE,     // Stock apartado, pendiente de confirmación
+        CONFIRMED,  // Confirmada, el stock queda descontado
+        RELEASED,   // Liberada, el stock fue devuelto
+        EXPIRED     // Expirada por TTL, el stock fue devuelto
+    }
+
+    // Constructores
+    public StockReservation() {
+        this.status = ReservationStatus.ACTIVE;
+    }
+
+    public StockReservation(String id, LocalDateTime expiresAt) {
+        this();
+        this.id = id;
+        this.expiresAt = expiresAt;
+    }
+
+    // Métodos de lifecycle de JPA
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Métodos de utilidad
+    public void addItem(StockReservationItem item) {
+        items.add(item);
+        item.setReservation(this);
+    }
+
+    // Getters y Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public List<StockReservationItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockReservationItem> items) {
+        this.items = items;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StockReservation{" +
+                "id='" + id + '\'' +
+                ", status=" + status +
+                ", expiresAt=" + expiresAt +
+                ", itemsCount=" + (items != null ? items.size() : 0) +
+                '}';
+    }
+}
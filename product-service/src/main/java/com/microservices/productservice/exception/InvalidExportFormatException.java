@@ -0,0 +1,8 @@
+package com.microservices.productservice.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.microservices.productservice.exception;
+
+public class InvalidReservationStateException extends RuntimeException {
+
+    public InvalidReservationStateException(String message) {
+        super(message);
+    }
+
+    public InvalidReservationStateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.microservices.productservice.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+
+    public ReservationNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
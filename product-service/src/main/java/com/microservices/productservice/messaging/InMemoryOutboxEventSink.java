@@ -0,0 +1,65 @@
+package com.microservices.productservice.messaging;
+
+import com.microservices.productservice.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broker local en proceso: entrega cada evento a los suscriptores registrados y conserva
+ * los últimos publicados para consulta. Útil en desarrollo y pruebas.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+
+    private final List<Consumer<OutboxEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Protegido por synchronized
+    private final Deque<OutboxEvent> recentEvents = new ArrayDeque<>();
+
+    private final int maxRetained;
+
+    public InMemoryOutboxEventSink(@Value("${app.outbox.memory.max-retained:1000}") int maxRetained) {
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * Registrar un consumidor que recibe cada evento publicado
+     */
+    public void subscribe(Consumer<OutboxEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            for (Consumer<OutboxEvent> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+            recentEvents.addLast(event);
+            if (recentEvents.size() > maxRetained) {
+                recentEvents.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Últimos eventos publicados, del más antiguo al más reciente
+     */
+    public synchronized List<OutboxEvent> getRecentEvents() {
+        return new ArrayList<>(recentEvents);
+    }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+}
@@ -0,0 +1,23 @@
+package com.microservices.productservice.messaging;
+
+import com.microservices.productservice.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino al que el relay publica los eventos del outbox.
+ * La entrega es "al menos una vez": si publish lanza una excepción el lote completo se reintenta,
+ * por lo que los consumidores deben tolerar duplicados (el ID del evento es estable).
+ */
+public interface OutboxEventSink {
+
+    /**
+     * Publica un lote de eventos en orden de inserción
+     */
+    void publish(List<OutboxEvent> events);
+
+    /**
+     * Nombre del sink para estadísticas y logs
+     */
+    String getName();
+}
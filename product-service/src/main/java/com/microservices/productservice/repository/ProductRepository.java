@@ -1,12 +1,14 @@
 package com.microservices.productservice.repository;
 
 import com.microservices.productservice.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     List<Product> findByNameContainingIgnoreCase(String name);
 
+    /**
+     * Encuentra varios productos por ID en una sola consulta (IN)
+     */
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Página por keyset: productos con ID mayor que afterId, ordenados por ID
+     */
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * Encuentra productos con stock mayor que cero
      */
@@ -30,12 +44,42 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findAvailableProducts();
 
     /**
-     * Actualiza el stock de un producto
+     * Actualiza el stock de un producto. Las actualizaciones en bloque no pasan por @PreUpdate,
+     * así que updatedAt se actualiza en la propia consulta (lo usan los ETag del catálogo).
      */
     @Modifying
-    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :productId AND p.stock >= :quantity")
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id = :productId AND p.stock >= :quantity")
     int reduceStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 
+    /**
+     * Devuelve stock a un producto (liberación de reservas)
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :productId")
+    int increaseStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    /**
+     * Obtiene el stock de un producto descontando los deltas del ledger aún no aplicados
+     */
+    @Query("SELECT CAST(p.stock - COALESCE((SELECT SUM(d.delta) FROM StockLedgerDelta d WHERE d.productId = p.id), 0) AS Integer) "
+            + "FROM Product p WHERE p.id = :productId")
+    Optional<Integer> findStockById(@Param("productId") Long productId);
+
+    /**
+     * Obtiene ID y stock de todos los productos descontando los deltas del ledger aún no
+     * aplicados (carga inicial del ledger)
+     */
+    @Query("SELECT p.id, CAST(p.stock - COALESCE((SELECT SUM(d.delta) FROM StockLedgerDelta d WHERE d.productId = p.id), 0) AS Integer) "
+            + "FROM Product p")
+    List<Object[]> findAllStocks();
+
+    /**
+     * Última modificación y número de productos del catálogo (una sola fila)
+     */
+    @Query("SELECT MAX(p.updatedAt), COUNT(p) FROM Product p")
+    List<Object[]> findCatalogStamp();
+
     /**
      * Verifica si hay suficiente stock para un producto
      */
@@ -0,0 +1,19 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.entity.StockLedgerDelta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockLedgerDeltaRepository extends JpaRepository<StockLedgerDelta, Long> {
+
+    /**
+     * Siguiente lote de deltas confirmados pendientes de aplicar, en orden de inserción
+     */
+    @Query("SELECT d FROM StockLedgerDelta d ORDER BY d.id")
+    List<StockLedgerDelta> findPending(Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package com.microservices.productservice.repository;
+
+import com.microservices.productservice.entity.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    /**
+     * Cambia el estado de una reserva solo si sigue en el estado esperado y no ha expirado.
+     * Garantiza que confirmar, liberar y expirar sean mutuamente excluyentes.
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :newStatus, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = :expectedStatus AND r.expiresAt > :now")
+    int transitionIfNotExpired(@Param("id") String id,
+                               @Param("expectedStatus") StockReservation.ReservationStatus expectedStatus,
+                               @Param("newStatus") StockReservation.ReservationStatus newStatus,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Cambia el estado de una reserva solo si sigue en el estado esperado
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :newStatus, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = :expectedStatus")
+    int transition(@Param("id") String id,
+                   @Param("expectedStatus") StockReservation.ReservationStatus expectedStatus,
+                   @Param("newStatus") StockReservation.ReservationStatus newStatus,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Encuentra los IDs de reservas en un estado dado cuyo TTL ya venció
+     */
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = :status AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<String> findExpiredIds(@Param("status") StockReservation.ReservationStatus status,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    /**
+     * Obtiene una reserva junto con sus items
+     */
+    @Query("SELECT DISTINCT r FROM StockReservation r LEFT JOIN FETCH r.items WHERE r.id = :id")
+    Optional<StockReservation> findWithItemsById(@Param("id") String id);
+}
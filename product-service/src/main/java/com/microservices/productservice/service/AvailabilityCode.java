@@ -0,0 +1,27 @@
+package com.microservices.productservice.service;
+
+/**
+ * Resultado de una verificación de disponibilidad con su mensaje precalculado
+ */
+public enum AvailabilityCode {
+
+    AVAILABLE(true, "Producto disponible"),
+    INSUFFICIENT_STOCK(false, "Stock insuficiente"),
+    NOT_FOUND(false, "Producto no encontrado");
+
+    private final boolean available;
+    private final String message;
+
+    AvailabilityCode(boolean available, String message) {
+        this.available = available;
+        this.message = message;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
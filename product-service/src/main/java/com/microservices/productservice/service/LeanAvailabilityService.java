@@ -0,0 +1,115 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
+import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongFunction;
+
+/**
+ * Verificación de disponibilidad en modo lean (app.availability.mode: lean).
+ *
+ * Se sirve desde el índice primitivo de ProductCache, sin transacción, sin boxing del ID y con
+ * mensajes precalculados (AvailabilityCode). En un acierto del índice check(...) no reserva
+ * memoria y checkAvailability(...) solo crea el DTO de respuesta. Con el ledger de stock activo
+ * el stock se sigue leyendo del ledger.
+ */
+@Service
+public class LeanAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeanAvailabilityService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ProductMetrics productMetrics;
+
+    @Value("${app.availability.mode:standard}")
+    private String mode;
+
+    // Una sola instancia: una referencia a método creada en cada llamada reservaría memoria
+    private final LongFunction<ProductSnapshot> snapshotLoader = this::loadSnapshot;
+
+    public boolean isEnabled() {
+        return "lean".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Verificar disponibilidad sin construir respuesta
+     */
+    public AvailabilityCode check(long productId, int quantity) {
+        long start = System.nanoTime();
+
+        ProductSnapshot product = productCache.getIndexed(productId, snapshotLoader);
+        AvailabilityCode code = evaluate(product, product != null ? currentStock(product) : 0, quantity);
+
+        productMetrics.recordAvailabilityCheck(System.nanoTime() - start);
+        return code;
+    }
+
+    /**
+     * Verificar disponibilidad con la respuesta del endpoint; el mensaje es el del código,
+     * sin el stock disponible (que ya viaja en availableStock)
+     */
+    public AvailabilityCheckResponseDto checkAvailability(AvailabilityCheckRequestDto requestDto) {
+        long start = System.nanoTime();
+
+        ProductSnapshot product = productCache.getIndexed(requestDto.getProductId(), snapshotLoader);
+        int stock = product != null ? currentStock(product) : 0;
+        AvailabilityCode code = evaluate(product, stock, requestDto.getQuantity());
+
+        AvailabilityCheckResponseDto response = new AvailabilityCheckResponseDto(
+                requestDto.getProductId(),
+                product != null ? product.getName() : null,
+                code.isAvailable(),
+                requestDto.getQuantity(),
+                stock,
+                product != null ? product.getPrice() : null,
+                code.getMessage()
+        );
+        productMetrics.recordAvailabilityCheck(System.nanoTime() - start);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Disponibilidad verificada para producto ID {}: {}", requestDto.getProductId(), code);
+        }
+
+        return response;
+    }
+
+    private AvailabilityCode evaluate(ProductSnapshot product, int stock, int quantity) {
+        if (product == null) {
+            productMetrics.productNotFound();
+            return AvailabilityCode.NOT_FOUND;
+        }
+        if (stock < quantity) {
+            productMetrics.insufficientStock();
+            return AvailabilityCode.INSUFFICIENT_STOCK;
+        }
+        return AvailabilityCode.AVAILABLE;
+    }
+
+    private int currentStock(ProductSnapshot product) {
+        if (stockLedger.isEnabled()) {
+            Integer ledgerStock = stockLedger.getAvailableStock(product.getId());
+            if (ledgerStock != null) {
+                return ledgerStock;
+            }
+        }
+        return product.getStock();
+    }
+
+    private ProductSnapshot loadSnapshot(long productId) {
+        return productRepository.findById(productId).map(ProductSnapshot::new).orElse(null);
+    }
+}
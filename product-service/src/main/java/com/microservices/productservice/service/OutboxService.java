@@ -0,0 +1,67 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.entity.OutboxEvent;
+import com.microservices.productservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro de eventos de stock en la tabla outbox_events.
+ * Exige una transacción activa: el evento se confirma o se revierte junto con el cambio.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    public static final String PRODUCT_AGGREGATE = "PRODUCT";
+    public static final String RESERVATION_AGGREGATE = "STOCK_RESERVATION";
+
+    public static final String STOCK_REDUCED = "STOCK_REDUCED";
+    public static final String STOCK_RESERVED = "STOCK_RESERVED";
+    public static final String RESERVATION_CONFIRMED = "RESERVATION_CONFIRMED";
+    public static final String STOCK_RESTORED = "STOCK_RESTORED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Stock descontado directamente de un producto
+     */
+    public void stockReduced(Long productId, Integer quantity) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("productId", productId);
+        payload.put("quantity", quantity);
+        record(PRODUCT_AGGREGATE, productId.toString(), STOCK_REDUCED, payload);
+    }
+
+    /**
+     * Cambio de stock asociado a una reserva (reservado, confirmado o devuelto)
+     */
+    public void reservationEvent(String eventType, String reservationId, String status, List<Map<String, Object>> items) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reservationId", reservationId);
+        payload.put("status", status);
+        payload.put("items", items);
+        record(RESERVATION_AGGREGATE, reservationId, eventType, payload);
+    }
+
+    private void record(String aggregateType, String aggregateId, String eventType, Map<String, Object> payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(
+                    aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + eventType, e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.microservices.productservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Caché read-through de productos acotada por tamaño y TTL.
+ *
+ * Junto a la caché Caffeine mantiene un índice con claves long primitivas para la verificación
+ * de disponibilidad en modo lean (ver {@link #getIndexed}), con el mismo tamaño y TTL.
+ * Las invalidaciones se aplican de inmediato y se repiten al confirmar la transacción
+ * en curso, para que una lectura concurrente no vuelva a cachear el valor anterior
+ * antes del commit.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductSnapshot> cache;
+
+    private final ProductSnapshotIndex index;
+
+    // Invalidaciones explícitas: cada una corresponde a un cambio de producto en esta instancia
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductCache(@Value("${app.product-cache.max-size:10000}") long maxSize,
+                        @Value("${app.product-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.index = new ProductSnapshotIndex((int) Math.min(maxSize, Integer.MAX_VALUE / 4),
+                Duration.ofSeconds(ttlSeconds).toNanos());
+    }
+
+    /**
+     * Obtiene un producto de la caché o lo carga con la función indicada.
+     * Si la función devuelve null no se cachea nada.
+     */
+    public ProductSnapshot get(Long productId, Function<Long, ProductSnapshot> loader) {
+        return cache.get(productId, loader);
+    }
+
+    /**
+     * Obtiene varios productos; los ausentes se cargan en una sola llamada
+     */
+    public Map<Long, ProductSnapshot> getAll(Collection<Long> productIds,
+                                             Function<Collection<? extends Long>, Map<Long, ProductSnapshot>> loader) {
+        return cache.getAll(productIds, loader::apply);
+    }
+
+    /**
+     * Obtiene un producto del índice primitivo o lo carga con la función indicada.
+     * En un acierto no reserva memoria; el loader debe crearse una sola vez (no por llamada).
+     * Si la función devuelve null no se indexa nada.
+     */
+    public ProductSnapshot getIndexed(long productId, LongFunction<ProductSnapshot> loader) {
+        ProductSnapshot snapshot = index.get(productId);
+        if (snapshot == null) {
+            long stamp = index.stamp();
+            snapshot = loader.apply(productId);
+            if (snapshot != null) {
+                index.put(snapshot, stamp);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Invalida un producto ahora y de nuevo tras el commit de la transacción actual
+     */
+    public void evict(Long productId) {
+        invalidate(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(productId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long productId) {
+        cache.invalidate(productId);
+        index.invalidate(productId);
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Número de invalidaciones desde el arranque; cambia con cada modificación de un producto,
+     * también las de stock del ledger que aún no se han volcado a la base de datos
+     */
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    /**
+     * Estadísticas de la caché: aciertos, fallos y expulsiones
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("invalidations", invalidations.get());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        result.put("indexSize", index.size());
+        return result;
+    }
+}
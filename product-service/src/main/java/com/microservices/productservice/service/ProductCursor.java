@@ -0,0 +1,40 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de la paginación por keyset: codifica el último ID devuelto.
+ */
+final class ProductCursor {
+
+    private static final String PREFIX = "id:";
+
+    private ProductCursor() {
+    }
+
+    static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devuelve el ID a partir del cual continuar; 0 si no hay cursor (primera página)
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Cursor de paginación inválido: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor de paginación inválido: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación del catálogo completo en streaming.
+ *
+ * Las filas se leen con un cursor JDBC de solo avance (fetch size configurable) y se escriben
+ * directamente en la respuesta, sin construir entidades ni listas: el uso de memoria es
+ * constante sea cual sea el tamaño del catálogo.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    private static final String EXPORT_SQL =
+            "SELECT id, name, description, price, stock, created_at, updated_at FROM products ORDER BY id";
+
+    private static final String CSV_HEADER = "id,name,description,price,stock,createdAt,updatedAt";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public enum Format {
+        NDJSON, // Un producto en JSON por línea
+        CSV     // Cabecera compatible con la importación masiva
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Value("${app.products.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate exportJdbcTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        // JdbcTemplate propio para no cambiar el fetch size del resto de consultas
+        exportJdbcTemplate = new JdbcTemplate(dataSource);
+        exportJdbcTemplate.setFetchSize(fetchSize);
+
+        // Algunos drivers (p. ej. PostgreSQL) solo respetan el fetch size dentro de una transacción
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Escribe todos los productos en el formato indicado y devuelve cuántos se exportaron
+     */
+    public long export(OutputStream outputStream, Format format, boolean gzip) throws IOException {
+        logger.info("Exportando catálogo de productos en formato {}{}", format, gzip ? " (gzip)" : "");
+        long start = System.nanoTime();
+
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, WRITE_BUFFER_SIZE) : null;
+        OutputStream target = gzip ? gzipStream : outputStream;
+
+        long count;
+        try {
+            count = format == Format.CSV ? writeCsv(target) : writeNdjson(target);
+        } catch (UncheckedIOException e) {
+            // Normalmente el cliente cerró la conexión a mitad de la descarga
+            logger.warn("Exportación interrumpida: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        if (gzipStream != null) {
+            // Escribe el final del gzip sin cerrar el stream de la respuesta
+            gzipStream.finish();
+        }
+        outputStream.flush();
+
+        logger.info("Catálogo exportado: {} productos en {} ms", count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return count;
+    }
+
+    private long writeNdjson(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long count = readAll(row -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.getLong("id"));
+            generator.writeStringField("name", row.getString("name"));
+            generator.writeStringField("description", row.getString("description"));
+            generator.writeNumberField("price", row.getBigDecimal("price"));
+            generator.writeNumberField("stock", stock(row));
+            generator.writeStringField("createdAt", timestamp(row.getTimestamp("created_at")));
+            generator.writeStringField("updatedAt", timestamp(row.getTimestamp("updated_at")));
+            generator.writeEndObject();
+        });
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = readAll(row -> {
+            writer.write(Long.toString(row.getLong("id")));
+            writer.write(',');
+            writeCsvField(writer, row.getString("name"));
+            writer.write(',');
+            writeCsvField(writer, row.getString("description"));
+            writer.write(',');
+            BigDecimal price = row.getBigDecimal("price");
+            writer.write(price != null ? price.toPlainString() : "");
+            writer.write(',');
+            writer.write(Integer.toString(stock(row)));
+            writer.write(',');
+            writeCsvField(writer, timestamp(row.getTimestamp("created_at")));
+            writer.write(',');
+            writeCsvField(writer, timestamp(row.getTimestamp("updated_at")));
+            writer.write('\n');
+        });
+        writer.flush();
+        return count;
+    }
+
+    private long readAll(RowWriter rowWriter) {
+        long[] count = {0};
+        readOnlyTransaction.executeWithoutResult(status ->
+                exportJdbcTemplate.query(EXPORT_SQL, resultSet -> {
+                    try {
+                        rowWriter.write(resultSet);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                }));
+        return count[0];
+    }
+
+    private int stock(ResultSet row) throws SQLException {
+        if (stockLedger.isEnabled()) {
+            Integer ledgerStock = stockLedger.getLoadedStock(row.getLong("id"));
+            if (ledgerStock != null) {
+                return ledgerStock;
+            }
+        }
+        return row.getInt("stock");
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet row) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,282 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.microservices.productservice.dto.ProductImportErrorDto;
+import com.microservices.productservice.dto.ProductImportResultDto;
+import com.microservices.productservice.dto.ProductRequestDto;
+import com.microservices.productservice.exception.InvalidImportException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de productos desde CSV o NDJSON.
+ *
+ * El cuerpo se lee en streaming fila a fila; solo se mantiene en memoria el lote actual,
+ * que se inserta con un batch JDBC en su propia transacción. Las filas inválidas se
+ * rechazan sin detener la importación.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, stock, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV,    // Cabecera con columnas name, description, price, stock
+        NDJSON  // Un ProductRequestDto en JSON por línea
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Value("${app.products.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.products.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    /**
+     * Importa los productos del flujo y devuelve el resumen de filas aceptadas y rechazadas
+     */
+    public ProductImportResultDto importProducts(InputStream inputStream, Format format) throws IOException {
+        logger.info("Iniciando importación masiva de productos en formato {}", format);
+        long start = System.nanoTime();
+
+        ImportRun run = new ImportRun(new ProductImportResultDto(format.name()));
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+
+        if (format == Format.CSV) {
+            importCsv(reader, run);
+        } else {
+            importNdjson(reader, run);
+        }
+        run.flush();
+
+        ProductImportResultDto result = run.result;
+        result.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Importación finalizada: {} filas, {} aceptadas, {} rechazadas en {} ms",
+                result.getTotalRows(), result.getAcceptedRows(), result.getRejectedRows(), result.getElapsedMs());
+
+        // Las filas se insertaron por JDBC sin pasar por el servicio: el índice se reconstruye de una vez.
+        // Las filas ya están confirmadas, así que un fallo aquí no invalida la importación
+        if (result.getAcceptedRows() > 0) {
+            try {
+                productSearchIndex.rebuild();
+            } catch (RuntimeException e) {
+                logger.error("No se pudo reconstruir el índice de búsqueda tras la importación; "
+                        + "los productos importados no aparecerán en búsquedas hasta la próxima reconstrucción", e);
+            }
+        }
+        return result;
+    }
+
+    private void importCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Se ignora el BOM que algunas hojas de cálculo añaden al inicio del archivo
+            String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(column, i);
+        }
+        List<String> missing = List.of("name", "price", "stock").stream()
+                .filter(column -> !columns.containsKey(column))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("Faltan columnas obligatorias en la cabecera CSV: " + missing);
+        }
+
+        int nameColumn = columns.get("name");
+        int priceColumn = columns.get("price");
+        int stockColumn = columns.get("stock");
+        Integer descriptionColumn = columns.get("description");
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long line = csv.getRecordLine();
+
+            String price = value(record, priceColumn);
+            String stock = value(record, stockColumn);
+            ProductRequestDto product = new ProductRequestDto();
+            product.setName(value(record, nameColumn));
+            product.setDescription(descriptionColumn != null ? value(record, descriptionColumn) : null);
+            try {
+                product.setPrice(price != null ? new BigDecimal(price) : null);
+            } catch (NumberFormatException e) {
+                run.reject(line, "Precio inválido: " + price);
+                continue;
+            }
+            try {
+                product.setStock(stock != null ? Integer.valueOf(stock) : null);
+            } catch (NumberFormatException e) {
+                run.reject(line, "Stock inválido: " + stock);
+                continue;
+            }
+            run.add(line, product);
+        }
+    }
+
+    private void importNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        ObjectReader productReader = objectMapper.readerFor(ProductRequestDto.class);
+
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            ProductRequestDto product;
+            try {
+                product = productReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                run.reject(line, "JSON inválido: " + e.getOriginalMessage());
+                continue;
+            }
+            if (product == null) {
+                run.reject(line, "JSON inválido: se esperaba un objeto");
+                continue;
+            }
+            run.add(line, product);
+        }
+    }
+
+    private static String value(List<String> record, int column) {
+        if (column >= record.size()) {
+            return null;
+        }
+        String value = record.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Estado de una importación: resumen acumulado y lote pendiente de escribir
+     */
+    private class ImportRun {
+
+        private final ProductImportResultDto result;
+        private final List<ProductRequestDto> batch = new ArrayList<>(batchSize);
+        private long batchFirstLine;
+        private long batchLastLine;
+
+        ImportRun(ProductImportResultDto result) {
+            this.result = result;
+        }
+
+        void add(long line, ProductRequestDto product) {
+            result.setTotalRows(result.getTotalRows() + 1);
+
+            Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                recordRejected(line, 1, message);
+                return;
+            }
+
+            if (batch.isEmpty()) {
+                batchFirstLine = line;
+            }
+            batchLastLine = line;
+            batch.add(product);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            recordRejected(line, 1, message);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, product) -> {
+                            statement.setString(1, product.getName());
+                            statement.setString(2, product.getDescription());
+                            statement.setBigDecimal(3, product.getPrice());
+                            statement.setInt(4, product.getStock());
+                            statement.setTimestamp(5, now);
+                            statement.setTimestamp(6, now);
+                        }));
+                result.setAcceptedRows(result.getAcceptedRows() + batch.size());
+                logger.debug("Lote de {} productos importado (líneas {}-{})", batch.size(), batchFirstLine, batchLastLine);
+            } catch (DataAccessException e) {
+                // El lote se revierte completo; la importación continúa con el siguiente
+                String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                logger.warn("Lote rechazado por la base de datos (líneas {}-{}): {}", batchFirstLine, batchLastLine, cause);
+                recordRejected(batchFirstLine, batch.size(),
+                        "Lote rechazado por la base de datos (líneas " + batchFirstLine + "-" + batchLastLine + "): " + cause);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        private void recordRejected(long line, int rows, String message) {
+            result.setRejectedRows(result.getRejectedRows() + rows);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(new ProductImportErrorDto(line, message));
+            }
+        }
+    }
+}
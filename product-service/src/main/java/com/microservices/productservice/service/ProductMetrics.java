@@ -0,0 +1,76 @@
+package com.microservices.productservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de los caminos calientes de disponibilidad y stock.
+ *
+ * Los timers y contadores se registran una sola vez al arrancar; en cada llamada solo se
+ * actualizan, sin buscar el medidor en el registro.
+ */
+@Component
+public class ProductMetrics {
+
+    private final Timer availabilitySingleTimer;
+    private final Timer availabilityBatchTimer;
+    private final Counter unavailableNotFound;
+    private final Counter unavailableInsufficientStock;
+    private final Timer reduceStockTimer;
+    private final Counter reduceStockFailed;
+
+    public ProductMetrics(MeterRegistry registry) {
+        availabilitySingleTimer = latencyTimer("products.availability.check", registry, "mode", "single");
+        availabilityBatchTimer = latencyTimer("products.availability.check", registry, "mode", "batch");
+        unavailableNotFound = Counter.builder("products.availability.unavailable")
+                .description("Líneas consultadas sin disponibilidad")
+                .tag("reason", "not_found")
+                .register(registry);
+        unavailableInsufficientStock = Counter.builder("products.availability.unavailable")
+                .description("Líneas consultadas sin disponibilidad")
+                .tag("reason", "insufficient_stock")
+                .register(registry);
+        reduceStockTimer = latencyTimer("products.stock.reduce", registry);
+        reduceStockFailed = Counter.builder("products.stock.reduce.failed")
+                .description("Reducciones de stock rechazadas por stock insuficiente o producto inexistente")
+                .register(registry);
+    }
+
+    private static Timer latencyTimer(String name, MeterRegistry registry, String... tags) {
+        // Histograma acotado a 100 µs - 10 s para que Prometheus calcule percentiles entre instancias
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    public void recordAvailabilityCheck(long durationNanos) {
+        availabilitySingleTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAvailabilityBatch(long durationNanos) {
+        availabilityBatchTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void productNotFound() {
+        unavailableNotFound.increment();
+    }
+
+    public void insufficientStock() {
+        unavailableInsufficientStock.increment();
+    }
+
+    public void recordReduceStock(long durationNanos, boolean success) {
+        reduceStockTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            reduceStockFailed.increment();
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package com.microservices.productservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre el nombre y la descripción de los productos.
+ *
+ * Cada término normalizado (minúsculas, sin tildes) apunta a una lista de IDs ordenada con
+ * marcas de si aparece en el nombre o en la descripción. Los términos están ordenados, de modo
+ * que la búsqueda por prefijo (autocompletado) es un recorrido de rango.
+ *
+ * Todos los términos de la consulta deben coincidir. La relevancia suma, por término de la
+ * consulta, el mejor peso encontrado: el nombre pesa más que la descripción y la coincidencia
+ * exacta el doble que la de prefijo.
+ *
+ * Se reconstruye desde la base de datos al arrancar y tras una importación masiva; entre tanto
+ * se actualiza al confirmarse cada alta, modificación o baja.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final String REBUILD_SQL = "SELECT id, name, description FROM products ORDER BY id";
+
+    private static final int NAME_FLAG = 2;
+    private static final int DESCRIPTION_FLAG = 1;
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_FACTOR = 2;
+    private static final int PREFIX_MATCH_FACTOR = 1;
+    private static final int SCORE_BITS = 8;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+
+    // Prefijos más cortos solo se buscan como término exacto
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "la", "las", "los", "o", "para", "por", "un", "una", "y");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos por lock
+    private TreeMap<String, Postings> terms = new TreeMap<>();
+    private List<Change> pendingChanges;
+    private long lastRebuildMs;
+    private long indexedProducts;
+
+    private final int maxPrefixTerms;
+    private final int rebuildFetchSize;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public ProductSearchIndex(@Value("${app.search.max-prefix-terms:500}") int maxPrefixTerms,
+                              @Value("${app.search.rebuild-fetch-size:1000}") int rebuildFetchSize) {
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.rebuildFetchSize = rebuildFetchSize;
+    }
+
+    /**
+     * Indexa un producto nuevo al confirmarse la transacción actual
+     */
+    public void index(Long productId, String name, String description) {
+        afterCommit(new Change(productId, null, null, name, description));
+    }
+
+    /**
+     * Reindexa un producto modificado; necesita los textos anteriores para retirar sus términos
+     */
+    public void reindex(Long productId, String oldName, String oldDescription, String name, String description) {
+        afterCommit(new Change(productId, oldName, oldDescription, name, description));
+    }
+
+    /**
+     * Retira un producto eliminado del índice
+     */
+    public void remove(Long productId, String name, String description) {
+        afterCommit(new Change(productId, name, description, null, null));
+    }
+
+    /**
+     * Busca productos cuyo nombre o descripción contengan todos los términos de la consulta
+     * (como palabra completa o como prefijo) y devuelve los IDs más relevantes primero.
+     */
+    public SearchHits search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TermMatch> matches = new ArrayList<>(queryTerms.size());
+            for (String queryTerm : queryTerms) {
+                TermMatch match = match(queryTerm);
+                if (match.estimatedSize == 0) {
+                    return SearchHits.EMPTY;
+                }
+                matches.add(match);
+            }
+            // Se parte del término más selectivo para que el conjunto de candidatos sea mínimo
+            matches.sort(Comparator.comparingLong(match -> match.estimatedSize));
+
+            Candidates candidates = union(matches.get(0));
+            for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+                candidates.retainAndScore(matches.get(i));
+            }
+            return candidates.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el índice completo leyendo la tabla products con un cursor JDBC.
+     * Los cambios confirmados mientras tanto se aplican al índice nuevo antes de publicarlo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TreeMap<String, Postings> rebuilt = new TreeMap<>();
+        long[] count = {0};
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setFetchSize(rebuildFetchSize);
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(REBUILD_SQL, row -> {
+                        addTerms(rebuilt, row.getLong(1), row.getString(2), row.getString(3));
+                        count[0]++;
+                    }));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : pendingChanges) {
+                change.applyTo(rebuilt);
+            }
+            terms = rebuilt;
+            pendingChanges = null;
+            indexedProducts = count[0];
+            lastRebuildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Índice de búsqueda reconstruido: {} productos, {} términos en {} ms",
+                count[0], rebuilt.size(), lastRebuildMs);
+    }
+
+    /**
+     * Tamaño del índice y duración de la última reconstrucción
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("terms", terms.size());
+            stats.put("productsAtLastRebuild", indexedProducts);
+            stats.put("lastRebuildMs", lastRebuildMs);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza y separa un texto en términos: minúsculas, sin tildes ni signos,
+     * descartando palabras vacías y letras sueltas.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            if (token.length() == 1 && !Character.isDigit(token.charAt(0))) {
+                continue;
+            }
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private void afterCommit(Change change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.applyTo(terms);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private TermMatch match(String queryTerm) {
+        List<Postings> postings = new ArrayList<>();
+        List<Integer> factors = new ArrayList<>();
+        long estimatedSize = 0;
+
+        Postings exact = terms.get(queryTerm);
+        if (exact != null) {
+            postings.add(exact);
+            factors.add(EXACT_MATCH_FACTOR);
+            estimatedSize += exact.size;
+        }
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            List<Postings> prefixed = new ArrayList<>(
+                    terms.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values());
+            // Con prefijos muy cortos se expanden solo los términos más frecuentes
+            if (prefixed.size() > maxPrefixTerms) {
+                prefixed.sort(Comparator.comparingInt((Postings candidate) -> candidate.size).reversed());
+                prefixed = prefixed.subList(0, maxPrefixTerms);
+            }
+            for (Postings candidate : prefixed) {
+                postings.add(candidate);
+                factors.add(PREFIX_MATCH_FACTOR);
+                estimatedSize += candidate.size;
+            }
+        }
+
+        return new TermMatch(postings.toArray(new Postings[0]),
+                factors.stream().mapToInt(Integer::intValue).toArray(), estimatedSize);
+    }
+
+    /**
+     * Une las listas de un término de la consulta (exacto y prefijos) en candidatos ordenados por ID,
+     * quedándose con el mejor peso de cada producto
+     */
+    private static Candidates union(TermMatch match) {
+        if (match.postings.length == 1) {
+            Postings postings = match.postings[0];
+            Candidates candidates = new Candidates(postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                candidates.append(postings.ids[i], weight(postings.flags[i]) * match.factors[0]);
+            }
+            return candidates;
+        }
+
+        // ID y peso empaquetados en un long para ordenar con un array primitivo
+        long[] packed = new long[(int) Math.min(match.estimatedSize, Integer.MAX_VALUE)];
+        int count = 0;
+        for (int i = 0; i < match.postings.length; i++) {
+            Postings postings = match.postings[i];
+            for (int j = 0; j < postings.size; j++) {
+                packed[count++] = (postings.ids[j] << SCORE_BITS) | (weight(postings.flags[j]) * match.factors[i]);
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        Candidates candidates = new Candidates(count);
+        for (int i = 0; i < count; i++) {
+            long id = packed[i] >>> SCORE_BITS;
+            int score = (int) (packed[i] & SCORE_MASK);
+            // Al estar ordenado, la última entrada de cada ID es la de mayor peso
+            if (candidates.size > 0 && candidates.ids[candidates.size - 1] == id) {
+                candidates.scores[candidates.size - 1] = score;
+            } else {
+                candidates.append(id, score);
+            }
+        }
+        return candidates;
+    }
+
+    private static void addTerms(TreeMap<String, Postings> index, long productId, String name, String description) {
+        for (String term : new LinkedHashSet<>(tokenize(name))) {
+            index.computeIfAbsent(term, key -> new Postings()).set(productId, NAME_FLAG);
+        }
+        for (String term : new LinkedHashSet<>(tokenize(description))) {
+            index.computeIfAbsent(term, key -> new Postings()).set(productId, DESCRIPTION_FLAG);
+        }
+    }
+
+    private static void removeTerms(TreeMap<String, Postings> index, long productId, String name, String description) {
+        removeTerms(index, productId, name, NAME_FLAG);
+        removeTerms(index, productId, description, DESCRIPTION_FLAG);
+    }
+
+    private static void removeTerms(TreeMap<String, Postings> index, long productId, String text, int flag) {
+        for (String term : new LinkedHashSet<>(tokenize(text))) {
+            Postings postings = index.get(term);
+            if (postings != null && postings.clear(productId, flag) && postings.size == 0) {
+                index.remove(term);
+            }
+        }
+    }
+
+    private static int weight(int flags) {
+        return ((flags & NAME_FLAG) != 0 ? NAME_WEIGHT : 0) + ((flags & DESCRIPTION_FLAG) != 0 ? DESCRIPTION_WEIGHT : 0);
+    }
+
+    /**
+     * IDs ordenados de los productos que contienen un término, con la marca de nombre/descripción.
+     * Las marcas hacen que aplicar dos veces el mismo cambio sea inocuo.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private byte[] flags = new byte[2];
+        private int size;
+
+        void set(long id, int flag) {
+            // Caso habitual: IDs crecientes (reconstrucción ordenada y altas nuevas)
+            int position = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                flags[position] |= flag;
+                return;
+            }
+            int insertAt = -(position + 1);
+            if (size == ids.length) {
+                int capacity = size + (size >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(flags, insertAt, flags, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            flags[insertAt] = (byte) flag;
+            size++;
+        }
+
+        /**
+         * Quita la marca indicada; devuelve true si el producto cambió
+         */
+        boolean clear(long id, int flag) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0 || (flags[position] & flag) == 0) {
+                return false;
+            }
+            flags[position] &= (byte) ~flag;
+            if (flags[position] == 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                System.arraycopy(flags, position + 1, flags, position, size - position - 1);
+                size--;
+            }
+            return true;
+        }
+    }
+
+    private static final class TermMatch {
+
+        private final Postings[] postings;
+        private final int[] factors;
+        private final long estimatedSize;
+
+        TermMatch(Postings[] postings, int[] factors, long estimatedSize) {
+            this.postings = postings;
+            this.factors = factors;
+            this.estimatedSize = estimatedSize;
+        }
+    }
+
+    /**
+     * Candidatos ordenados por ID con su puntuación acumulada
+     */
+    private static final class Candidates {
+
+        private long[] ids;
+        private int[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            ids = new long[Math.max(capacity, 1)];
+            scores = new int[Math.max(capacity, 1)];
+        }
+
+        void append(long id, int score) {
+            ids[size] = id;
+            scores[size] = score;
+            size++;
+        }
+
+        /**
+         * Conserva solo los candidatos que también coinciden con el término y suma su mejor peso.
+         * Ambas listas están ordenadas por ID, así que basta con recorrerlas a la vez.
+         */
+        void retainAndScore(TermMatch match) {
+            Candidates other = union(match);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; i++) {
+                while (j < other.size && other.ids[j] < ids[i]) {
+                    j++;
+                }
+                if (j < other.size && other.ids[j] == ids[i]) {
+                    ids[kept] = ids[i];
+                    scores[kept] = scores[i] + other.scores[j];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Los limit candidatos de mayor puntuación; a igual puntuación, el de menor ID
+         */
+        SearchHits top(int limit) {
+            Comparator<Integer> byRelevance = (a, b) -> scores[a] != scores[b] ?
+                    Integer.compare(scores[b], scores[a]) : Long.compare(ids[a], ids[b]);
+
+            // Montículo con el peor de los mejores en la cima
+            PriorityQueue<Integer> best = new PriorityQueue<>(Math.min(limit, size) + 1, byRelevance.reversed());
+            for (int i = 0; i < size; i++) {
+                if (best.size() == limit && byRelevance.compare(i, best.peek()) >= 0) {
+                    continue;
+                }
+                best.add(i);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Integer> ranked = new ArrayList<>(best);
+            ranked.sort(byRelevance);
+            List<Long> rankedIds = new ArrayList<>(ranked.size());
+            for (Integer index : ranked) {
+                rankedIds.add(ids[index]);
+            }
+            return new SearchHits(rankedIds, size);
+        }
+    }
+
+    /**
+     * Un cambio confirmado sobre un producto: retira los textos anteriores e indexa los nuevos
+     */
+    private static final class Change {
+
+        private final long productId;
+        private final String oldName;
+        private final String oldDescription;
+        private final String name;
+        private final String description;
+
+        Change(long productId, String oldName, String oldDescription, String name, String description) {
+            this.productId = productId;
+            this.oldName = oldName;
+            this.oldDescription = oldDescription;
+            this.name = name;
+            this.description = description;
+        }
+
+        void applyTo(TreeMap<String, Postings> index) {
+            removeTerms(index, productId, oldName, oldDescription);
+            addTerms(index, productId, name, description);
+        }
+    }
+
+    /**
+     * IDs de los productos encontrados por relevancia y total de coincidencias
+     */
+    public static final class SearchHits {
+
+        static final SearchHits EMPTY = new SearchHits(Collections.emptyList(), 0);
+
+        private final List<Long> productIds;
+        private final long totalMatches;
+
+        SearchHits(List<Long> productIds, long totalMatches) {
+            this.productIds = productIds;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+
+        public long getTotalMatches() {
+            return totalMatches;
+        }
+    }
+}
@@ -2,19 +2,28 @@ package com.microservices.productservice.service;
 
 import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
 import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.dto.ProductPageDto;
 import com.microservices.productservice.dto.ProductRequestDto;
 import com.microservices.productservice.dto.ProductResponseDto;
+import com.microservices.productservice.dto.ProductSearchResultDto;
 import com.microservices.productservice.entity.Product;
 import com.microservices.productservice.exception.ProductNotFoundException;
 import com.microservices.productservice.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,9 +32,39 @@ public class ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
+    // Distingue los contadores locales de instancias o arranques distintos
+    private final String instanceId = UUID.randomUUID().toString();
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ProductMetrics productMetrics;
+
+    @Value("${app.products.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.products.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${app.search.max-limit:100}")
+    private int maxSearchLimit;
+
     /**
      * Crear un nuevo producto
      */
@@ -39,6 +78,7 @@ public class ProductService {
         product.setStock(requestDto.getStock());
 
         Product savedProduct = productRepository.save(product);
+        productSearchIndex.index(savedProduct.getId(), savedProduct.getName(), savedProduct.getDescription());
         logger.info("Producto creado con ID: {}", savedProduct.getId());
 
         return new ProductResponseDto(savedProduct);
@@ -51,23 +91,89 @@ public class ProductService {
     public ProductResponseDto getProductById(Long id) {
         logger.info("Buscando producto con ID: {}", id);
 
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
+        ProductSnapshot product = productCache.get(id, this::loadSnapshot);
+        if (product == null) {
+            throw new ProductNotFoundException("Producto no encontrado con ID: " + id);
+        }
 
-        return new ProductResponseDto(product);
+        return withLedgerStock(product.toResponseDto());
     }
 
     /**
-     * Obtener todos los productos
+     * Obtener una página de productos ordenados por ID (paginación por keyset).
+     * El cursor es el devuelto por la página anterior; null para la primera.
      */
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> getAllProducts() {
-        logger.info("Obteniendo todos los productos");
+    public ProductPageDto getProductsPage(String cursor, Integer size) {
+        long afterId = ProductCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        logger.info("Obteniendo página de productos después del ID: {} tamaño: {}", afterId, pageSize);
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<Product> rows = productRepository.findPageAfter(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> page = hasNext ? rows.subList(0, pageSize) : rows;
 
-        List<Product> products = productRepository.findAll();
-        return products.stream()
+        List<ProductResponseDto> items = page.stream()
                 .map(ProductResponseDto::new)
+                .map(this::withLedgerStock)
                 .collect(Collectors.toList());
+        String nextCursor = hasNext ? ProductCursor.encode(page.get(page.size() - 1).getId()) : null;
+
+        return new ProductPageDto(items, nextCursor);
+    }
+
+    /**
+     * Versión del catálogo para el ETag del listado: la última modificación y el número de
+     * productos de la tabla, igual en todas las réplicas. Con el ledger activo se añaden la
+     * instancia y las invalidaciones de su caché local, que cubren el stock aún no volcado.
+     */
+    @Transactional(readOnly = true)
+    public String getCatalogVersion() {
+        Object[] stamp = productRepository.findCatalogStamp().get(0);
+        LocalDateTime lastModified = (LocalDateTime) stamp[0];
+        String version = lastModified + "-" + stamp[1];
+        if (stockLedger.isEnabled()) {
+            // El stock del ledger aún no volcado solo lo conoce esta instancia
+            version += "-" + instanceId + "-" + productCache.getInvalidationCount();
+        }
+        return version;
+    }
+
+    /**
+     * Buscar productos por nombre y descripción usando el índice en memoria.
+     * Devuelve los más relevantes primero junto con el total de coincidencias.
+     */
+    @Transactional(readOnly = true)
+    public ProductSearchResultDto searchProducts(String query, Integer limit) {
+        int resultLimit = limit == null ? defaultSearchLimit : Math.max(1, Math.min(limit, maxSearchLimit));
+        ProductSearchIndex.SearchHits hits = productSearchIndex.search(query, resultLimit);
+        logger.info("Búsqueda de productos '{}': {} coincidencias", query, hits.getTotalMatches());
+
+        if (hits.getProductIds().isEmpty()) {
+            return new ProductSearchResultDto(new ArrayList<>(), hits.getTotalMatches());
+        }
+
+        Map<Long, ProductSnapshot> productsById = productCache.getAll(hits.getProductIds(), missingIds ->
+                productRepository.findByIdIn(new ArrayList<>(missingIds)).stream()
+                        .collect(Collectors.toMap(Product::getId, ProductSnapshot::new)));
+
+        // Se conserva el orden de relevancia del índice
+        List<ProductResponseDto> items = hits.getProductIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(ProductSnapshot::toResponseDto)
+                .map(this::withLedgerStock)
+                .collect(Collectors.toList());
+
+        return new ProductSearchResultDto(items, hits.getTotalMatches());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(size, maxPageSize));
     }
 
     /**
@@ -77,11 +183,51 @@ public class ProductService {
     public AvailabilityCheckResponseDto checkAvailability(AvailabilityCheckRequestDto requestDto) {
         logger.info("Verificando disponibilidad para producto ID: {} cantidad: {}",
                    requestDto.getProductId(), requestDto.getQuantity());
+        long start = System.nanoTime();
+
+        ProductSnapshot product = productCache.get(requestDto.getProductId(), this::loadSnapshot);
+
+        AvailabilityCheckResponseDto response = buildAvailabilityResponse(requestDto, product);
+        productMetrics.recordAvailabilityCheck(System.nanoTime() - start);
+        logger.info("Disponibilidad verificada: {} - {}", response.isAvailable(), response.getMessage());
+
+        return response;
+    }
+
+    /**
+     * Verificar disponibilidad de varios productos con una sola consulta.
+     * Las respuestas conservan el orden de la solicitud.
+     */
+    @Transactional(readOnly = true)
+    public List<AvailabilityCheckResponseDto> checkAvailabilityBatch(List<AvailabilityCheckRequestDto> requests) {
+        logger.info("Verificando disponibilidad en lote para {} productos", requests.size());
+        long start = System.nanoTime();
 
-        Optional<Product> productOpt = productRepository.findById(requestDto.getProductId());
+        Set<Long> productIds = requests.stream()
+                .map(AvailabilityCheckRequestDto::getProductId)
+                .collect(Collectors.toSet());
 
-        if (productOpt.isEmpty()) {
+        // Solo los productos que no están en caché se consultan, en una única consulta IN
+        Map<Long, ProductSnapshot> productsById = productCache.getAll(productIds, missingIds ->
+                productRepository.findByIdIn(new ArrayList<>(missingIds)).stream()
+                        .collect(Collectors.toMap(Product::getId, ProductSnapshot::new)));
+
+        List<AvailabilityCheckResponseDto> responses = requests.stream()
+                .map(request -> buildAvailabilityResponse(request, productsById.get(request.getProductId())))
+                .collect(Collectors.toList());
+        productMetrics.recordAvailabilityBatch(System.nanoTime() - start);
+
+        long unavailable = responses.stream().filter(response -> !response.isAvailable()).count();
+        logger.info("Disponibilidad en lote verificada: {} de {} productos no disponibles", unavailable, responses.size());
+
+        return responses;
+    }
+
+    private AvailabilityCheckResponseDto buildAvailabilityResponse(AvailabilityCheckRequestDto requestDto,
+                                                                   ProductSnapshot product) {
+        if (product == null) {
             logger.warn("Producto no encontrado con ID: {}", requestDto.getProductId());
+            productMetrics.productNotFound();
             return new AvailabilityCheckResponseDto(
                     requestDto.getProductId(),
                     null,
@@ -93,20 +239,21 @@ public class ProductService {
             );
         }
 
-        Product product = productOpt.get();
-        boolean isAvailable = product.getStock() >= requestDto.getQuantity();
+        int stock = currentStock(product);
+        boolean isAvailable = stock >= requestDto.getQuantity();
+        if (!isAvailable) {
+            productMetrics.insufficientStock();
+        }
         String message = isAvailable ?
             "Producto disponible" :
-            "Stock insuficiente. Disponible: " + product.getStock();
-
-        logger.info("Disponibilidad verificada: {} - {}", isAvailable, message);
+            "Stock insuficiente. Disponible: " + stock;
 
         return new AvailabilityCheckResponseDto(
                 product.getId(),
                 product.getName(),
                 isAvailable,
                 requestDto.getQuantity(),
-                product.getStock(),
+                stock,
                 product.getPrice(),
                 message
         );
@@ -117,15 +264,27 @@ public class ProductService {
      */
     public boolean reduceStock(Long productId, Integer quantity) {
         logger.info("Reduciendo stock para producto ID: {} cantidad: {}", productId, quantity);
-
-        int updatedRows = productRepository.reduceStock(productId, quantity);
-        boolean success = updatedRows > 0;
+        long start = System.nanoTime();
+
+        boolean success;
+        if (stockLedger.isEnabled()) {
+            success = stockLedger.tryReduce(productId, quantity);
+            if (success) {
+                // Si la transacción se revierte (p. ej. falla el outbox) las unidades vuelven al ledger
+                stockLedger.restoreOnRollback(Map.of(productId, quantity));
+            }
+        } else {
+            success = productRepository.reduceStock(productId, quantity) > 0;
+        }
 
         if (success) {
+            productCache.evict(productId);
+            outboxService.stockReduced(productId, quantity);
             logger.info("Stock reducido exitosamente para producto ID: {}", productId);
         } else {
             logger.warn("No se pudo reducir el stock para producto ID: {} - stock insuficiente o producto no encontrado", productId);
         }
+        productMetrics.recordReduceStock(System.nanoTime() - start, success);
 
         return success;
     }
@@ -139,15 +298,29 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
 
+        String oldName = product.getName();
+        String oldDescription = product.getDescription();
+
         product.setName(requestDto.getName());
         product.setDescription(requestDto.getDescription());
         product.setPrice(requestDto.getPrice());
-        product.setStock(requestDto.getStock());
+        if (stockLedger.isEnabled()) {
+            // Con el ledger el stock persistido tiene deltas pendientes: el nuevo valor se
+            // aplica como ajuste relativo en lugar de sobrescribir la columna
+            stockLedger.reset(id, requestDto.getStock());
+        } else {
+            product.setStock(requestDto.getStock());
+        }
 
         Product updatedProduct = productRepository.save(product);
+        productCache.evict(updatedProduct.getId());
+        productSearchIndex.reindex(updatedProduct.getId(), oldName, oldDescription,
+                updatedProduct.getName(), updatedProduct.getDescription());
         logger.info("Producto actualizado exitosamente: {}", updatedProduct.getId());
 
-        return new ProductResponseDto(updatedProduct);
+        ProductResponseDto responseDto = new ProductResponseDto(updatedProduct);
+        responseDto.setStock(requestDto.getStock());
+        return responseDto;
     }
 
     /**
@@ -156,11 +329,39 @@ public class ProductService {
     public void deleteProduct(Long id) {
         logger.info("Eliminando producto con ID: {}", id);
 
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException("Producto no encontrado con ID: " + id);
-        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
 
-        productRepository.deleteById(id);
+        productRepository.delete(product);
+        productCache.evict(id);
+        productSearchIndex.remove(id, product.getName(), product.getDescription());
+        if (stockLedger.isEnabled()) {
+            stockLedger.evict(id);
+        }
         logger.info("Producto eliminado exitosamente: {}", id);
     }
+
+    private ProductSnapshot loadSnapshot(Long productId) {
+        return productRepository.findById(productId).map(ProductSnapshot::new).orElse(null);
+    }
+
+    private int currentStock(ProductSnapshot product) {
+        if (stockLedger.isEnabled()) {
+            Integer ledgerStock = stockLedger.getAvailableStock(product.getId());
+            if (ledgerStock != null) {
+                return ledgerStock;
+            }
+        }
+        return product.getStock();
+    }
+
+    private ProductResponseDto withLedgerStock(ProductResponseDto dto) {
+        if (stockLedger.isEnabled()) {
+            Integer ledgerStock = stockLedger.getLoadedStock(dto.getId());
+            if (ledgerStock != null) {
+                dto.setStock(ledgerStock);
+            }
+        }
+        return dto;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ProductResponseDto;
+import com.microservices.productservice.entity.Product;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Copia inmutable de un producto tal como se guarda en la caché.
+ * Se usa en lugar del DTO para que nadie pueda modificar una entrada compartida.
+ */
+public final class ProductSnapshot {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final int stock;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ProductSnapshot(Product product) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.description = product.getDescription();
+        this.price = product.getPrice();
+        this.stock = product.getStock();
+        this.createdAt = product.getCreatedAt();
+        this.updatedAt = product.getUpdatedAt();
+    }
+
+    public ProductResponseDto toResponseDto() {
+        return new ProductResponseDto(id, name, description, price, stock, createdAt, updatedAt);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
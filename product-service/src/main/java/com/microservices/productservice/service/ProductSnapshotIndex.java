@@ -0,0 +1,186 @@
+package com.microservices.productservice.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Índice de productos con claves long primitivas: direccionamiento abierto con sondeo lineal.
+ *
+ * Las lecturas no bloquean ni reservan memoria (sin boxing del ID ni objetos intermedios).
+ * Las escrituras se serializan; la tabla se reconstruye al superar la mitad de ocupación y se
+ * vacía por completo si se alcanza maxSize. Las entradas caducan tras el TTL.
+ */
+final class ProductSnapshotIndex {
+
+    // Los IDs generados son positivos: 0 marca una celda libre
+    private static final long EMPTY = 0L;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final class Entry {
+        final ProductSnapshot snapshot;
+        final long expiresAtNanos;
+
+        Entry(ProductSnapshot snapshot, long expiresAtNanos) {
+            this.snapshot = snapshot;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private static final class Table {
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<Entry> entries;
+        final int mask;
+        // Celdas con clave (vivas o invalidadas); solo se modifica con el lock del índice
+        int used;
+
+        Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.entries = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Se incrementa en cada invalidación: una carga iniciada antes no se guarda
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    // Entradas no invalidadas; protegido por synchronized
+    private int size;
+
+    ProductSnapshotIndex(int maxSize, long ttlNanos) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Producto indexado y vigente, o null
+     */
+    ProductSnapshot get(long productId) {
+        if (productId <= 0) {
+            return null;
+        }
+        Table current = table;
+        for (int i = slot(productId, current.mask); ; i = (i + 1) & current.mask) {
+            long key = current.keys.get(i);
+            if (key == productId) {
+                Entry entry = current.entries.get(i);
+                if (entry == null || entry.expiresAtNanos - System.nanoTime() < 0) {
+                    return null;
+                }
+                return entry.snapshot;
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Marca a tomar antes de cargar un producto para {@link #put}
+     */
+    long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Guarda el producto salvo que haya habido una invalidación desde stamp:
+     * el valor cargado podría ser anterior a esa escritura
+     */
+    synchronized void put(ProductSnapshot snapshot, long stamp) {
+        long productId = snapshot.getId();
+        if (productId <= 0 || invalidations.get() != stamp) {
+            return;
+        }
+
+        Table current = table;
+        int i = find(current, productId);
+        if (current.keys.get(i) == EMPTY) {
+            if (size >= maxSize) {
+                table = current = new Table(INITIAL_CAPACITY);
+                size = 0;
+            } else if ((current.used + 1) * 2 > current.keys.length()) {
+                table = current = rebuild(current);
+            }
+            i = find(current, productId);
+        }
+
+        Entry entry = new Entry(snapshot, System.nanoTime() + ttlNanos);
+        if (current.entries.get(i) == null) {
+            size++;
+        }
+        // La entrada se publica antes que la clave: quien vea la clave verá la entrada
+        current.entries.set(i, entry);
+        if (current.keys.get(i) == EMPTY) {
+            current.keys.set(i, productId);
+            current.used++;
+        }
+    }
+
+    void invalidate(long productId) {
+        invalidations.incrementAndGet();
+        synchronized (this) {
+            Table current = table;
+            int i = find(current, productId);
+            if (current.keys.get(i) == productId && current.entries.getAndSet(i, null) != null) {
+                size--;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Celda con la clave o primera celda libre de su secuencia de sondeo
+    private static int find(Table table, long productId) {
+        int i = slot(productId, table.mask);
+        while (true) {
+            long key = table.keys.get(i);
+            if (key == productId || key == EMPTY) {
+                return i;
+            }
+            i = (i + 1) & table.mask;
+        }
+    }
+
+    // Copia solo las entradas vigentes; la capacidad deja la ocupación por debajo de un cuarto
+    private Table rebuild(Table current) {
+        long now = System.nanoTime();
+        int live = 0;
+        for (int i = 0; i < current.keys.length(); i++) {
+            Entry entry = current.entries.get(i);
+            if (entry != null && entry.expiresAtNanos - now >= 0) {
+                live++;
+            }
+        }
+
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+        Table rebuilt = new Table(capacity);
+        for (int i = 0; i < current.keys.length(); i++) {
+            Entry entry = current.entries.get(i);
+            if (entry != null && entry.expiresAtNanos - now >= 0) {
+                long key = current.keys.get(i);
+                int j = find(rebuilt, key);
+                rebuilt.entries.set(j, entry);
+                rebuilt.keys.set(j, key);
+                rebuilt.used++;
+            }
+        }
+        size = live;
+        return rebuilt;
+    }
+
+    private static int slot(long productId, int mask) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,305 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.entity.StockLedgerDelta;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.repository.StockLedgerDeltaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ledger de stock en memoria con escritura diferida (write-behind) a la tabla products.
+ *
+ * Cada producto tiene un contador atómico de stock disponible; las reducciones se resuelven
+ * con CAS sobre el contador, sin bloquear la fila del producto. Cada cambio deja además un
+ * delta en stock_ledger_deltas dentro de la transacción que lo origina (un INSERT, sin
+ * contención), y un proceso periódico agrupa los deltas confirmados y los aplica en un único
+ * batch de UPDATEs relativos (stock = stock - delta).
+ *
+ * La base de datos sigue siendo la fuente de verdad al arrancar: el ledger se carga con el
+ * stock de products menos los deltas aún no aplicados, así que una caída entre la reserva y
+ * el flush no pierde ni duplica unidades.
+ */
+@Component
+public class StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private static final String FLUSH_SQL = "UPDATE products SET stock = stock - ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Evita que dos flush concurrentes apliquen el mismo lote de deltas
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockLedgerDeltaRepository deltaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.stock-ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.stock-ledger.flush-batch-size:5000}")
+    private int flushBatchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stock disponible según el ledger, cargándolo desde la base de datos si hace falta.
+     * Devuelve null si el producto no existe.
+     */
+    public Integer getAvailableStock(Long productId) {
+        Entry entry = entry(productId);
+        return entry != null ? entry.available.get() : null;
+    }
+
+    /**
+     * Stock disponible solo si el producto ya está cargado en el ledger
+     */
+    public Integer getLoadedStock(Long productId) {
+        Entry entry = entries.get(productId);
+        return entry != null ? entry.available.get() : null;
+    }
+
+    /**
+     * Reduce el stock en memoria si hay unidades suficientes y registra el delta en la
+     * transacción actual
+     */
+    public boolean tryReduce(Long productId, int quantity) {
+        return tryReduceAll(Map.of(productId, quantity)) == null;
+    }
+
+    /**
+     * Reduce varios productos de forma todo o nada. Devuelve el ID del primer producto
+     * sin stock suficiente, o null si todas las reducciones se aplicaron.
+     */
+    public Long tryReduceAll(Map<Long, Integer> quantitiesByProduct) {
+        List<StockLedgerDelta> deltas = new ArrayList<>(quantitiesByProduct.size());
+        for (Map.Entry<Long, Integer> line : quantitiesByProduct.entrySet()) {
+            Entry entry = entry(line.getKey());
+            if (entry == null || !entry.tryTake(line.getValue())) {
+                undo(deltas);
+                return line.getKey();
+            }
+            deltas.add(new StockLedgerDelta(line.getKey(), line.getValue()));
+        }
+
+        try {
+            deltaRepository.saveAll(deltas);
+        } catch (RuntimeException ex) {
+            undo(deltas);
+            throw ex;
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve unidades al stock. El delta se registra en la transacción actual y las
+     * unidades solo vuelven a estar disponibles en memoria cuando esta se confirma.
+     */
+    public void restore(Long productId, int quantity) {
+        deltaRepository.save(new StockLedgerDelta(productId, -quantity));
+        afterCommit(() -> add(productId, quantity));
+    }
+
+    /**
+     * Registra una compensación que devuelve las unidades si la transacción actual se revierte
+     */
+    public void restoreOnRollback(Map<Long, Integer> quantitiesByProduct) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    quantitiesByProduct.forEach(StockLedger.this::add);
+                }
+            }
+        });
+    }
+
+    /**
+     * Fija un stock absoluto (actualización de producto) como un ajuste relativo sobre el
+     * stock disponible en este momento: el delta se registra en la transacción actual y el
+     * contador en memoria se ajusta al confirmarla, sin perder reducciones concurrentes.
+     */
+    public void reset(Long productId, int stock) {
+        Entry entry = entry(productId);
+        if (entry == null) {
+            return;
+        }
+        int adjustment = entry.available.get() - stock;
+        if (adjustment == 0) {
+            return;
+        }
+        deltaRepository.save(new StockLedgerDelta(productId, adjustment));
+        afterCommit(() -> add(productId, -adjustment));
+    }
+
+    /**
+     * Elimina un producto del ledger
+     */
+    public void evict(Long productId) {
+        entries.remove(productId);
+    }
+
+    /**
+     * Aplica en un solo batch los deltas confirmados, agrupados por producto, y los elimina
+     * en la misma transacción
+     */
+    @Scheduled(fixedDelayString = "${app.stock-ledger.flush-interval-ms:200}")
+    public int flush() {
+        if (!enabled) {
+            return 0;
+        }
+
+        flushLock.lock();
+        try {
+            Integer flushed = new TransactionTemplate(transactionManager).execute(status -> {
+                List<StockLedgerDelta> pending = deltaRepository.findPending(PageRequest.of(0, flushBatchSize));
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+
+                Map<Long, Integer> deltaByProduct = new TreeMap<>();
+                for (StockLedgerDelta delta : pending) {
+                    deltaByProduct.merge(delta.getProductId(), delta.getDelta(), Integer::sum);
+                }
+                List<Object[]> batchArgs = new ArrayList<>(deltaByProduct.size());
+                deltaByProduct.forEach((productId, delta) -> {
+                    if (delta != 0) {
+                        batchArgs.add(new Object[]{delta, productId});
+                    }
+                });
+
+                if (!batchArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+                }
+                deltaRepository.deleteAllByIdInBatch(pending.stream().map(StockLedgerDelta::getId).toList());
+                return batchArgs.size();
+            });
+            if (flushed != null && flushed > 0) {
+                logger.debug("Ledger de stock: {} deltas aplicados a la base de datos", flushed);
+            }
+            return flushed != null ? flushed : 0;
+        } catch (RuntimeException ex) {
+            // Los deltas siguen en la tabla: se reintentará en el siguiente ciclo
+            logger.error("Error al aplicar deltas del ledger de stock, se reintentará", ex);
+            return 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el ledger desde la base de datos al arrancar, descontando los deltas
+     * que una ejecución anterior registró pero no llegó a aplicar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        if (!enabled) {
+            return;
+        }
+
+        entries.clear();
+        for (Object[] row : productRepository.findAllStocks()) {
+            entries.put((Long) row[0], new Entry((Integer) row[1]));
+        }
+        logger.info("Ledger de stock cargado desde la base de datos: {} productos", entries.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Entry entry(Long productId) {
+        Entry entry = entries.get(productId);
+        if (entry != null) {
+            return entry;
+        }
+        // Una sola carga por producto aunque varios hilos fallen a la vez
+        return entries.computeIfAbsent(productId, id ->
+                productRepository.findStockById(id).map(Entry::new).orElse(null));
+    }
+
+    private void add(Long productId, int quantity) {
+        Entry entry = entries.get(productId);
+        if (entry != null) {
+            entry.available.addAndGet(quantity);
+        }
+    }
+
+    private void undo(List<StockLedgerDelta> deltas) {
+        for (StockLedgerDelta delta : deltas) {
+            add(delta.getProductId(), delta.getDelta());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Stock disponible en memoria de un producto
+     */
+    private static final class Entry {
+        private final AtomicInteger available;
+
+        private Entry(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        private boolean tryTake(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
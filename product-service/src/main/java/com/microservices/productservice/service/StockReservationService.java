@@ -0,0 +1,256 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.StockReservationItemDto;
+import com.microservices.productservice.dto.StockReservationRequestDto;
+import com.microservices.productservice.dto.StockReservationResponseDto;
+import com.microservices.productservice.entity.StockReservation;
+import com.microservices.productservice.entity.StockReservationItem;
+import com.microservices.productservice.exception.InsufficientStockException;
+import com.microservices.productservice.exception.InvalidReservationStateException;
+import com.microservices.productservice.exception.ReservationNotFoundException;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.repository.StockReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Reservas de stock multi-producto "todo o nada".
+ *
+ * Cada línea se descuenta con un UPDATE condicional (stock >= cantidad) que solo
+ * bloquea la fila del producto afectado; los productos se procesan en orden de ID
+ * para que dos reservas concurrentes no se bloqueen mutuamente. Si una línea no
+ * tiene stock suficiente la transacción completa se revierte.
+ */
+@Service
+@Transactional
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${app.reservations.ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Value("${app.reservations.max-ttl-seconds:3600}")
+    private long maxTtlSeconds;
+
+    @Value("${app.reservations.expiration-batch-size:100}")
+    private int expirationBatchSize;
+
+    /**
+     * Reservar stock para todas las líneas de un pedido en una sola transacción
+     */
+    public StockReservationResponseDto reserve(StockReservationRequestDto requestDto) {
+        logger.info("Reservando stock para {} líneas", requestDto.getItems().size());
+
+        // Reintento de una reserva con ID del cliente: se devuelve la existente sin descontar otra vez
+        if (requestDto.getReservationId() != null) {
+            Optional<StockReservation> existing = reservationRepository.findWithItemsById(requestDto.getReservationId());
+            if (existing.isPresent()) {
+                logger.info("Reserva ID: {} ya registrada en estado {}", existing.get().getId(), existing.get().getStatus());
+                return new StockReservationResponseDto(existing.get());
+            }
+        }
+
+        // Agrupar por producto y ordenar por ID para un orden de bloqueo consistente
+        Map<Long, Integer> quantitiesByProduct = new TreeMap<>();
+        for (StockReservationItemDto item : requestDto.getItems()) {
+            quantitiesByProduct.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        long ttlSeconds = resolveTtlSeconds(requestDto.getTtlSeconds());
+        String reservationId = requestDto.getReservationId() != null
+                ? requestDto.getReservationId()
+                : UUID.randomUUID().toString();
+        StockReservation reservation = new StockReservation(reservationId, LocalDateTime.now().plusSeconds(ttlSeconds));
+
+        if (stockLedger.isEnabled()) {
+            Long rejectedProductId = stockLedger.tryReduceAll(quantitiesByProduct);
+            if (rejectedProductId != null) {
+                throw insufficientStock(rejectedProductId, quantitiesByProduct.get(rejectedProductId));
+            }
+            stockLedger.restoreOnRollback(quantitiesByProduct);
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantitiesByProduct.entrySet()) {
+            if (!stockLedger.isEnabled() && productRepository.reduceStock(entry.getKey(), entry.getValue()) == 0) {
+                throw insufficientStock(entry.getKey(), entry.getValue());
+            }
+            reservation.addItem(new StockReservationItem(entry.getKey(), entry.getValue()));
+            productCache.evict(entry.getKey());
+        }
+
+        StockReservation savedReservation = reservationRepository.save(reservation);
+        publishReservationEvent(OutboxService.STOCK_RESERVED, savedReservation);
+        logger.info("Reserva creada con ID: {} expira: {}", savedReservation.getId(), savedReservation.getExpiresAt());
+
+        return new StockReservationResponseDto(savedReservation);
+    }
+
+    /**
+     * Obtener una reserva por ID
+     */
+    @Transactional(readOnly = true)
+    public StockReservationResponseDto getReservation(String reservationId) {
+        return new StockReservationResponseDto(findReservation(reservationId));
+    }
+
+    /**
+     * Confirmar una reserva activa: el stock queda descontado definitivamente
+     */
+    public StockReservationResponseDto confirm(String reservationId) {
+        logger.info("Confirmando reserva ID: {}", reservationId);
+
+        int updated = reservationRepository.transitionIfNotExpired(reservationId,
+                StockReservation.ReservationStatus.ACTIVE, StockReservation.ReservationStatus.CONFIRMED,
+                LocalDateTime.now());
+        StockReservation reservation = findReservation(reservationId);
+
+        if (updated == 0) {
+            switch (reservation.getStatus()) {
+                case CONFIRMED:
+                    return new StockReservationResponseDto(reservation);
+                case ACTIVE:
+                    throw new InvalidReservationStateException("La reserva ha expirado: " + reservationId);
+                default:
+                    throw new InvalidReservationStateException(
+                            "La reserva no puede confirmarse en estado " + reservation.getStatus() + ": " + reservationId);
+            }
+        }
+
+        publishReservationEvent(OutboxService.RESERVATION_CONFIRMED, reservation);
+        logger.info("Reserva confirmada exitosamente: {}", reservationId);
+        return new StockReservationResponseDto(reservation);
+    }
+
+    /**
+     * Liberar una reserva activa devolviendo el stock a los productos.
+     * Si la reserva aún no existe se registra como liberada: una reserva que el cliente dio por
+     * perdida tras un timeout y que llega después con ese ID ya no descuenta stock.
+     */
+    public StockReservationResponseDto release(String reservationId) {
+        logger.info("Liberando reserva ID: {}", reservationId);
+
+        int updated = reservationRepository.transition(reservationId,
+                StockReservation.ReservationStatus.ACTIVE, StockReservation.ReservationStatus.RELEASED,
+                LocalDateTime.now());
+        Optional<StockReservation> found = reservationRepository.findWithItemsById(reservationId);
+        if (found.isEmpty()) {
+            if (reservationId.length() > 36) {
+                throw new ReservationNotFoundException("Reserva no encontrada con ID: " + reservationId);
+            }
+            StockReservation tombstone = new StockReservation(reservationId, LocalDateTime.now());
+            tombstone.setStatus(StockReservation.ReservationStatus.RELEASED);
+            logger.info("Reserva ID: {} liberada antes de registrarse", reservationId);
+            return new StockReservationResponseDto(reservationRepository.save(tombstone));
+        }
+        StockReservation reservation = found.get();
+
+        if (updated == 0) {
+            if (reservation.getStatus() == StockReservation.ReservationStatus.CONFIRMED) {
+                throw new InvalidReservationStateException("Una reserva confirmada no puede liberarse: " + reservationId);
+            }
+            // Ya liberada o expirada: la operación es idempotente
+            return new StockReservationResponseDto(reservation);
+        }
+
+        restoreStock(reservation);
+        logger.info("Reserva liberada exitosamente: {}", reservationId);
+        return new StockReservationResponseDto(reservation);
+    }
+
+    /**
+     * Expirar reservas activas cuyo TTL venció y devolver su stock
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.expiration-interval-ms:30000}")
+    public int expireReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> expiredIds = reservationRepository.findExpiredIds(
+                StockReservation.ReservationStatus.ACTIVE, now, PageRequest.of(0, expirationBatchSize));
+
+        int expired = 0;
+        for (String reservationId : expiredIds) {
+            int updated = reservationRepository.transition(reservationId,
+                    StockReservation.ReservationStatus.ACTIVE, StockReservation.ReservationStatus.EXPIRED, now);
+            if (updated > 0) {
+                restoreStock(findReservation(reservationId));
+                expired++;
+            }
+        }
+
+        if (expired > 0) {
+            logger.info("Reservas expiradas y liberadas: {}", expired);
+        }
+        return expired;
+    }
+
+    private StockReservation findReservation(String reservationId) {
+        return reservationRepository.findWithItemsById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException("Reserva no encontrada con ID: " + reservationId));
+    }
+
+    private void restoreStock(StockReservation reservation) {
+        for (StockReservationItem item : reservation.getItems()) {
+            if (stockLedger.isEnabled()) {
+                stockLedger.restore(item.getProductId(), item.getQuantity());
+            } else {
+                productRepository.increaseStock(item.getProductId(), item.getQuantity());
+            }
+            productCache.evict(item.getProductId());
+        }
+        publishReservationEvent(OutboxService.STOCK_RESTORED, reservation);
+    }
+
+    private void publishReservationEvent(String eventType, StockReservation reservation) {
+        List<Map<String, Object>> items = new ArrayList<>(reservation.getItems().size());
+        for (StockReservationItem item : reservation.getItems()) {
+            Map<String, Object> eventItem = new LinkedHashMap<>();
+            eventItem.put("productId", item.getProductId());
+            eventItem.put("quantity", item.getQuantity());
+            items.add(eventItem);
+        }
+        outboxService.reservationEvent(eventType, reservation.getId(), reservation.getStatus().name(), items);
+    }
+
+    private InsufficientStockException insufficientStock(Long productId, Integer quantity) {
+        logger.warn("Reserva rechazada: stock insuficiente para producto ID: {} cantidad: {}", productId, quantity);
+        return new InsufficientStockException(
+                "Stock insuficiente o producto no encontrado para producto ID: " + productId);
+    }
+
+    private long resolveTtlSeconds(Integer requestedTtlSeconds) {
+        if (requestedTtlSeconds == null) {
+            return defaultTtlSeconds;
+        }
+        return Math.min(requestedTtlSeconds, maxTtlSeconds);
+    }
+}
@@ -0,0 +1,102 @@
+package com.microservices.productservice.controller;
+
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:httpcachetest",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.microservices.productservice=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+@AutoConfigureMockMvc
+class ProductControllerHttpCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testGetProductReturnsNotModifiedForCurrentEtag() throws Exception {
+        // Arrange
+        Product product = productRepository.save(new Product("Monitor", null, BigDecimal.TEN, 5));
+        MvcResult first = mockMvc.perform(get("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\""));
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void testStockReductionChangesProductEtag() throws Exception {
+        // Arrange
+        Product product = productRepository.save(new Product("Teclado", null, BigDecimal.TEN, 5));
+        String etag = mockMvc.perform(get("/api/products/{id}", product.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        assertTrue(productService.reduceStock(product.getId(), 2));
+
+        // Assert
+        MvcResult result = mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stock").value(3))
+            .andReturn();
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNotNull(productRepository.findById(product.getId()).orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    void testCatalogListRevalidatesAgainstCatalogVersion() throws Exception {
+        // Arrange
+        Product product = productRepository.save(new Product("Ratón", null, BigDecimal.ONE, 10));
+        String etag = mockMvc.perform(get("/api/products").param("size", "500"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        int unchanged = mockMvc.perform(get("/api/products").param("size", "500").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andReturn().getResponse().getStatus();
+        productService.reduceStock(product.getId(), 1);
+        int afterStockChange = mockMvc.perform(get("/api/products").param("size", "500").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andReturn().getResponse().getStatus();
+
+        // Assert
+        assertEquals(304, unchanged);
+        assertEquals(200, afterStockChange);
+    }
+}
@@ -0,0 +1,171 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
+import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeanAvailabilityServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, 60);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ProductMetrics productMetrics = new ProductMetrics(meterRegistry);
+
+    @InjectMocks
+    private LeanAvailabilityService leanAvailabilityService;
+
+    @Test
+    void testCheck_ServedFromIndexAfterFirstLoad() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+
+        // Act
+        AvailabilityCode first = leanAvailabilityService.check(1L, 5);
+        AvailabilityCode second = leanAvailabilityService.check(1L, 10);
+        AvailabilityCode third = leanAvailabilityService.check(1L, 11);
+
+        // Assert
+        assertEquals(AvailabilityCode.AVAILABLE, first);
+        assertEquals(AvailabilityCode.AVAILABLE, second);
+        assertEquals(AvailabilityCode.INSUFFICIENT_STOCK, third);
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(3, meterRegistry.get("products.availability.check").tag("mode", "single").timer().count());
+        assertEquals(1.0, meterRegistry.get("products.availability.unavailable")
+                .tag("reason", "insufficient_stock").counter().count());
+    }
+
+    @Test
+    void testCheckAvailability_InsufficientStockUsesFixedMessage() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 3)));
+
+        // Act
+        AvailabilityCheckResponseDto result =
+                leanAvailabilityService.checkAvailability(new AvailabilityCheckRequestDto(1L, 5));
+
+        // Assert
+        assertFalse(result.isAvailable());
+        assertEquals("Stock insuficiente", result.getMessage());
+        assertEquals(3, result.getAvailableStock());
+        assertEquals("Producto 1", result.getProductName());
+        assertEquals(new BigDecimal("10.00"), result.getUnitPrice());
+    }
+
+    @Test
+    void testCheck_ProductNotFoundIsNotIndexed() {
+        // Arrange
+        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        AvailabilityCode first = leanAvailabilityService.check(99L, 1);
+        AvailabilityCode second = leanAvailabilityService.check(99L, 1);
+
+        // Assert
+        assertEquals(AvailabilityCode.NOT_FOUND, first);
+        assertEquals(AvailabilityCode.NOT_FOUND, second);
+        verify(productRepository, times(2)).findById(99L);
+        assertEquals(2.0, meterRegistry.get("products.availability.unavailable")
+                .tag("reason", "not_found").counter().count());
+    }
+
+    @Test
+    void testCheck_EvictReloadsStock() {
+        // Arrange
+        when(productRepository.findById(1L))
+                .thenReturn(Optional.of(product(1L, 10)))
+                .thenReturn(Optional.of(product(1L, 2)));
+        leanAvailabilityService.check(1L, 5);
+
+        // Act
+        productCache.evict(1L);
+        AvailabilityCode result = leanAvailabilityService.check(1L, 5);
+
+        // Assert
+        assertEquals(AvailabilityCode.INSUFFICIENT_STOCK, result);
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testCheck_LoadRacingWithEvictIsNotIndexed() {
+        // Arrange: una escritura invalida el producto mientras se carga el valor anterior
+        when(productRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    productCache.evict(1L);
+                    return Optional.of(product(1L, 10));
+                })
+                .thenReturn(Optional.of(product(1L, 2)));
+
+        // Act
+        AvailabilityCode first = leanAvailabilityService.check(1L, 5);
+        AvailabilityCode second = leanAvailabilityService.check(1L, 5);
+
+        // Assert
+        assertEquals(AvailabilityCode.AVAILABLE, first);
+        assertEquals(AvailabilityCode.INSUFFICIENT_STOCK, second);
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testCheck_CatalogLargerThanIndexStaysCorrect() {
+        // Arrange: 500 productos con un índice de 100 entradas (se reconstruye y se vacía)
+        when(productRepository.findById(anyLong()))
+                .thenAnswer(invocation -> {
+                    long id = invocation.getArgument(0);
+                    return Optional.of(product(id, (int) id));
+                });
+
+        // Act & Assert
+        for (int round = 0; round < 2; round++) {
+            for (long id = 1; id <= 500; id++) {
+                assertEquals(AvailabilityCode.AVAILABLE, leanAvailabilityService.check(id, (int) id));
+                assertEquals(AvailabilityCode.INSUFFICIENT_STOCK, leanAvailabilityService.check(id, (int) id + 1));
+            }
+        }
+        assertTrue((Integer) productCache.getStats().get("indexSize") <= 100);
+    }
+
+    @Test
+    void testCheck_LedgerStockTakesPrecedence() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        when(stockLedger.isEnabled()).thenReturn(true);
+        when(stockLedger.getAvailableStock(1L)).thenReturn(1);
+
+        // Act
+        AvailabilityCode result = leanAvailabilityService.check(1L, 2);
+
+        // Assert
+        assertEquals(AvailabilityCode.INSUFFICIENT_STOCK, result);
+    }
+
+    private Product product(Long id, int stock) {
+        Product product = new Product("Producto " + id, null, new BigDecimal("10.00"), stock);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,101 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.dto.StockReservationItemDto;
+import com.microservices.productservice.dto.StockReservationRequestDto;
+import com.microservices.productservice.dto.StockReservationResponseDto;
+import com.microservices.productservice.entity.OutboxEvent;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.exception.InsufficientStockException;
+import com.microservices.productservice.messaging.InMemoryOutboxEventSink;
+import com.microservices.productservice.repository.OutboxEventRepository;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxtest",
+        "spring.jpa.show-sql=false",
+        // El relay se ejecuta a mano desde los tests
+        "app.outbox.relay-interval-ms=3600000",
+        "app.outbox.batch-size=2",
+        "logging.level.com.microservices.productservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class OutboxRelayTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxEventSink sink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testStockChangesPublishedInOrderInBatches() throws Exception {
+        // Arrange
+        outboxRelay.relay();
+        int alreadyPublished = sink.getRecentEvents().size();
+        Product product = productRepository.save(new Product("Evento", null, BigDecimal.TEN, 10));
+
+        // Act
+        productService.reduceStock(product.getId(), 3);
+        StockReservationResponseDto reservation = reservationService.reserve(new StockReservationRequestDto(
+            List.of(new StockReservationItemDto(product.getId(), 2)), null));
+        reservationService.release(reservation.getReservationId());
+        int published = outboxRelay.relay();
+
+        // Assert
+        List<OutboxEvent> events = sink.getRecentEvents().subList(alreadyPublished, sink.getRecentEvents().size());
+        assertEquals(3, published);
+        assertEquals(List.of(OutboxService.STOCK_REDUCED, OutboxService.STOCK_RESERVED, OutboxService.STOCK_RESTORED),
+            events.stream().map(OutboxEvent::getEventType).collect(Collectors.toList()));
+
+        JsonNode reduced = objectMapper.readTree(events.get(0).getPayload());
+        assertEquals(product.getId().longValue(), reduced.get("productId").asLong());
+        assertEquals(3, reduced.get("quantity").asInt());
+        assertEquals(reservation.getReservationId(), events.get(2).getAggregateId());
+        assertEquals(0L, outboxEventRepository.countByPublishedAtIsNull());
+        assertEquals(0, outboxRelay.relay());
+    }
+
+    @Test
+    void testRejectedReservationLeavesNoEvent() {
+        // Arrange
+        Product product = productRepository.save(new Product("Sin stock", null, BigDecimal.TEN, 1));
+        long before = outboxEventRepository.count();
+
+        // Act
+        assertThrows(InsufficientStockException.class, () -> reservationService.reserve(new StockReservationRequestDto(
+            List.of(new StockReservationItemDto(product.getId(), 5)), null)));
+
+        // Assert
+        assertEquals(before, outboxEventRepository.count());
+    }
+}
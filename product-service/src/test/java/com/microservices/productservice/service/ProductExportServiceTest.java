@@ -0,0 +1,97 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:exporttest",
+        "spring.jpa.show-sql=false",
+        "app.products.export.fetch-size=3",
+        "logging.level.com.microservices.productservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testExportNdjson_OneProductPerLineInIdOrder() throws Exception {
+        // Arrange
+        long expected = productRepository.count();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long exported = productExportService.export(output, ProductExportService.Format.NDJSON, false);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(expected, exported);
+        assertEquals(expected, lines.length);
+
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode product = objectMapper.readTree(line);
+            assertTrue(product.get("id").asLong() > previousId);
+            assertTrue(product.hasNonNull("name"));
+            assertTrue(product.hasNonNull("price"));
+            previousId = product.get("id").asLong();
+        }
+    }
+
+    @Test
+    void testExportCsvGzip_EscapesFieldsAndRoundTripsThroughCsvReader() throws Exception {
+        // Arrange
+        Product tricky = productRepository.save(new Product(
+            "Monitor \"27\"", "Panel IPS, 144Hz\nincluye cable", BigDecimal.valueOf(249.50), 4));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long exported = productExportService.export(output, ProductExportService.Format.CSV, true);
+
+        // Assert
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(new String(
+            new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())).readAllBytes(), StandardCharsets.UTF_8)));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+
+        assertEquals(List.of("id", "name", "description", "price", "stock", "createdAt", "updatedAt"), records.get(0));
+        assertEquals(exported + 1, records.size());
+
+        List<String> last = records.get(records.size() - 1);
+        assertEquals(tricky.getId().toString(), last.get(0));
+        assertEquals("Monitor \"27\"", last.get(1));
+        assertEquals("Panel IPS, 144Hz\nincluye cable", last.get(2));
+        assertEquals("249.50", last.get(3));
+        assertEquals("4", last.get(4));
+    }
+}
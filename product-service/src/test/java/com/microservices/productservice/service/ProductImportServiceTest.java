@@ -0,0 +1,188 @@
+package com.microservices.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.productservice.dto.ProductImportResultDto;
+import com.microservices.productservice.dto.ProductRequestDto;
+import com.microservices.productservice.exception.InvalidImportException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @InjectMocks
+    private ProductImportService productImportService;
+
+    private final List<List<ProductRequestDto>> writtenBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(productImportService, "maxReportedErrors", 10);
+    }
+
+    @Test
+    void testImportCsv_ValidRowsWrittenInBatches() throws IOException {
+        // Arrange
+        recordBatches();
+        String csv = "name,description,price,stock\n" +
+                "Teclado,\"Mecánico, retroiluminado\",49.90,10\n" +
+                "\"Monitor \"\"27\"\"\",,199.00,5\r\n" +
+                "\n" +
+                "Mouse,Inalámbrico,19.99,0\n";
+
+        // Act
+        ProductImportResultDto result = productImportService.importProducts(stream(csv), ProductImportService.Format.CSV);
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getAcceptedRows());
+        assertEquals(0, result.getRejectedRows());
+
+        assertEquals(2, writtenBatches.size());
+        assertEquals(2, writtenBatches.get(0).size());
+        assertEquals(1, writtenBatches.get(1).size());
+        assertEquals("Mecánico, retroiluminado", writtenBatches.get(0).get(0).getDescription());
+        assertEquals("Monitor \"27\"", writtenBatches.get(0).get(1).getName());
+        assertNull(writtenBatches.get(0).get(1).getDescription());
+        assertEquals(new BigDecimal("19.99"), writtenBatches.get(1).get(0).getPrice());
+        verify(productSearchIndex).rebuild();
+    }
+
+    @Test
+    void testImportCsv_SearchIndexFailureDoesNotFailImport() throws IOException {
+        // Arrange
+        recordBatches();
+        doThrow(new IllegalStateException("sin conexiones")).when(productSearchIndex).rebuild();
+
+        // Act
+        ProductImportResultDto result = productImportService.importProducts(
+                stream("name,price,stock\nTeclado,49.90,10\n"), ProductImportService.Format.CSV);
+
+        // Assert
+        assertEquals(1, result.getAcceptedRows());
+        assertEquals(1, writtenBatches.size());
+        verify(productSearchIndex).rebuild();
+    }
+
+    @Test
+    void testImportCsv_InvalidRowsRejectedWithLineNumbers() throws IOException {
+        // Arrange
+        recordBatches();
+        String csv = "name,price,stock\n" +
+                "Valido,10.00,1\n" +
+                ",10.00,1\n" +
+                "Precio malo,abc,1\n" +
+                "Stock negativo,5.00,-3\n";
+
+        // Act
+        ProductImportResultDto result = productImportService.importProducts(stream(csv), ProductImportService.Format.CSV);
+
+        // Assert
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getAcceptedRows());
+        assertEquals(3, result.getRejectedRows());
+        assertEquals(3, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals("El nombre del producto es obligatorio", result.getErrors().get(0).getMessage());
+        assertEquals(4, result.getErrors().get(1).getLine());
+        assertEquals("Precio inválido: abc", result.getErrors().get(1).getMessage());
+        assertEquals(5, result.getErrors().get(2).getLine());
+        assertEquals("El stock no puede ser negativo", result.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    void testImportCsv_MissingRequiredColumns() {
+        // Act & Assert
+        assertThrows(InvalidImportException.class, () ->
+                productImportService.importProducts(stream("name,description\nA,B\n"), ProductImportService.Format.CSV));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        verify(productSearchIndex, never()).rebuild();
+    }
+
+    @Test
+    void testImportNdjson_RejectsMalformedLinesAndFailedBatches() throws IOException {
+        // Arrange
+        doAnswer(invocation -> {
+            throw new DataIntegrityViolationException("valor demasiado largo");
+        }).doAnswer(invocation -> {
+            writtenBatches.add(new ArrayList<>(invocation.<Collection<ProductRequestDto>>getArgument(1)));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        String ndjson = "{\"name\":\"A\",\"price\":1.50,\"stock\":1}\n" +
+                "{\"name\":\"B\",\"price\":2.50,\"stock\":2}\n" +
+                "{no es json\n" +
+                "{\"name\":\"C\",\"price\":3.50,\"stock\":3}\n";
+
+        // Act
+        ProductImportResultDto result = productImportService.importProducts(stream(ndjson), ProductImportService.Format.NDJSON);
+
+        // Assert
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getAcceptedRows());
+        assertEquals(3, result.getRejectedRows());
+        assertEquals(1, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Lote rechazado por la base de datos (líneas 1-2)"));
+        assertEquals(3, result.getErrors().get(1).getLine());
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("JSON inválido"));
+        assertEquals("C", writtenBatches.get(0).get(0).getName());
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            // Se copia el lote porque el servicio reutiliza la lista tras escribirlo
+            writtenBatches.add(new ArrayList<>(invocation.<Collection<ProductRequestDto>>getArgument(1)));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package com.microservices.productservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(500, 1000);
+
+    @Test
+    void testTokenize_NormalizesAccentsCaseAndStopWords() {
+        // Act
+        List<String> tokens = ProductSearchIndex.tokenize("Cámara de Fotos 4K, lente 50-mm y trípode");
+
+        // Assert
+        assertEquals(Arrays.asList("camara", "fotos", "4k", "lente", "50", "mm", "tripode"), tokens);
+    }
+
+    @Test
+    void testSearch_AllTermsMustMatchAndPrefixesExpand() {
+        // Arrange
+        index.index(1L, "Teclado Mecánico", "Switches rojos, retroiluminado");
+        index.index(2L, "Teclado Inalámbrico", "Bluetooth");
+        index.index(3L, "Mouse Inalámbrico", "Bluetooth y receptor USB");
+
+        // Act
+        ProductSearchIndex.SearchHits keyboards = index.search("tecl", 10);
+        ProductSearchIndex.SearchHits wireless = index.search("teclado inalam", 10);
+        ProductSearchIndex.SearchHits none = index.search("teclado usb", 10);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L), keyboards.getProductIds());
+        assertEquals(List.of(2L), wireless.getProductIds());
+        assertEquals(0, none.getTotalMatches());
+        assertTrue(none.getProductIds().isEmpty());
+    }
+
+    @Test
+    void testSearch_RanksNameOverDescriptionAndExactOverPrefix() {
+        // Arrange
+        index.index(1L, "Funda", "Funda para laptop de 15 pulgadas");
+        index.index(2L, "Laptops Reacondicionadas", null);
+        index.index(3L, "Laptop Gaming", "Pantalla 144Hz");
+        index.index(4L, "Cargador", "Compatible con laptops");
+
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search("laptop", 2);
+
+        // Assert
+        // Nombre exacto (3x2) > nombre por prefijo (3x1) > descripción exacta (1x2) > descripción por prefijo (1x1)
+        assertEquals(4, hits.getTotalMatches());
+        assertEquals(Arrays.asList(3L, 2L), hits.getProductIds());
+        assertEquals(Arrays.asList(3L, 2L, 1L, 4L), index.search("laptop", 10).getProductIds());
+    }
+
+    @Test
+    void testReindexAndRemove_UpdatePostingsIncrementally() {
+        // Arrange
+        index.index(5L, "Monitor Curvo", "Panel VA");
+        index.index(6L, "Monitor Plano", "Panel IPS");
+
+        // Act
+        index.reindex(5L, "Monitor Curvo", "Panel VA", "Monitor Curvo", "Panel IPS");
+        ProductSearchIndex.SearchHits ips = index.search("ips", 10);
+        index.remove(6L, "Monitor Plano", "Panel IPS");
+
+        // Assert
+        assertEquals(Arrays.asList(5L, 6L), ips.getProductIds());
+        assertEquals(0, index.search("va", 10).getTotalMatches());
+        assertEquals(List.of(5L), index.search("monitor", 10).getProductIds());
+        assertEquals(0, index.search("plano", 10).getTotalMatches());
+    }
+}
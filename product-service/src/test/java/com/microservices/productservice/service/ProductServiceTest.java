@@ -2,23 +2,36 @@ package com.microservices.productservice.service;
 
 import com.microservices.productservice.dto.AvailabilityCheckRequestDto;
 import com.microservices.productservice.dto.AvailabilityCheckResponseDto;
+import com.microservices.productservice.dto.ProductPageDto;
 import com.microservices.productservice.dto.ProductRequestDto;
 import com.microservices.productservice.dto.ProductResponseDto;
+import com.microservices.productservice.dto.ProductSearchResultDto;
 import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.exception.InvalidCursorException;
 import com.microservices.productservice.exception.ProductNotFoundException;
 import com.microservices.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +40,23 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, 60);
+
+    @Spy
+    private ProductSearchIndex productSearchIndex = new ProductSearchIndex(500, 1000);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ProductMetrics productMetrics = new ProductMetrics(meterRegistry);
+
     @InjectMocks
     private ProductService productService;
 
@@ -86,6 +116,33 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    @Test
+    void testGetProductById_ServedFromCacheUntilUpdated() {
+        // Arrange
+        Long productId = 1L;
+        Product product = new Product();
+        product.setId(productId);
+        product.setName("Test Product");
+        product.setPrice(BigDecimal.valueOf(99.99));
+        product.setStock(10);
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        productService.getProductById(productId);
+        productService.getProductById(productId);
+        productService.updateProduct(productId,
+            new ProductRequestDto("Updated Product", null, BigDecimal.valueOf(89.99), 10));
+        ProductResponseDto afterUpdate = productService.getProductById(productId);
+
+        // Assert
+        assertEquals("Updated Product", afterUpdate.getName());
+        // Una carga inicial, una lectura para la actualización y una recarga tras invalidar
+        verify(productRepository, times(3)).findById(productId);
+        assertEquals(1L, productCache.getStats().get("hits"));
+    }
+
     @Test
     void testGetProductById_NotFound() {
         // Arrange
@@ -193,6 +250,145 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    @Test
+    void testCheckAvailabilityBatch_SingleQueryPreservesOrder() {
+        // Arrange
+        Product product1 = new Product();
+        product1.setId(1L);
+        product1.setName("Product 1");
+        product1.setPrice(BigDecimal.valueOf(10.00));
+        product1.setStock(10);
+
+        Product product2 = new Product();
+        product2.setId(2L);
+        product2.setName("Product 2");
+        product2.setPrice(BigDecimal.valueOf(20.00));
+        product2.setStock(1);
+
+        List<AvailabilityCheckRequestDto> requests = Arrays.asList(
+                new AvailabilityCheckRequestDto(2L, 3),
+                new AvailabilityCheckRequestDto(999L, 1),
+                new AvailabilityCheckRequestDto(1L, 5)
+        );
+
+        when(productRepository.findByIdIn(anyCollection())).thenReturn(Arrays.asList(product1, product2));
+
+        // Act
+        List<AvailabilityCheckResponseDto> results = productService.checkAvailabilityBatch(requests);
+
+        // Assert
+        assertEquals(3, results.size());
+
+        assertEquals(2L, results.get(0).getProductId());
+        assertFalse(results.get(0).isAvailable());
+        assertEquals("Stock insuficiente. Disponible: 1", results.get(0).getMessage());
+
+        assertEquals(999L, results.get(1).getProductId());
+        assertFalse(results.get(1).isAvailable());
+        assertEquals("Producto no encontrado", results.get(1).getMessage());
+
+        assertEquals(1L, results.get(2).getProductId());
+        assertTrue(results.get(2).isAvailable());
+        assertEquals(BigDecimal.valueOf(10.00), results.get(2).getUnitPrice());
+
+        verify(productRepository, times(1)).findByIdIn(anyCollection());
+        verify(productRepository, never()).findById(any());
+
+        assertEquals(1, meterRegistry.get("products.availability.check").tag("mode", "batch").timer().count());
+        assertEquals(1.0, meterRegistry.get("products.availability.unavailable").tag("reason", "not_found").counter().count());
+        assertEquals(1.0, meterRegistry.get("products.availability.unavailable").tag("reason", "insufficient_stock").counter().count());
+    }
+
+    @Test
+    void testGetProductsPage_ReturnsCursorWhenMoreRowsExist() {
+        // Arrange
+        ReflectionTestUtils.setField(productService, "maxPageSize", 500);
+        List<Product> rows = Arrays.asList(newProduct(11L), newProduct(12L), newProduct(13L));
+        when(productRepository.findPageAfter(eq(10L), any(Pageable.class))).thenReturn(rows);
+
+        // Act
+        ProductPageDto page = productService.getProductsPage(ProductCursor.encode(10L), 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(11L, page.getItems().get(0).getId());
+        assertEquals(12L, page.getItems().get(1).getId());
+        assertTrue(page.hasNext());
+        assertEquals(12L, ProductCursor.decode(page.getNextCursor()));
+
+        // Se pide un elemento extra para detectar la página siguiente
+        verify(productRepository).findPageAfter(10L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void testGetProductsPage_LastPageHasNoCursorAndSizeIsCapped() {
+        // Arrange
+        ReflectionTestUtils.setField(productService, "maxPageSize", 5);
+        when(productRepository.findPageAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(newProduct(1L), newProduct(2L)));
+
+        // Act
+        ProductPageDto page = productService.getProductsPage(null, 1000);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+        verify(productRepository).findPageAfter(0L, PageRequest.of(0, 6));
+    }
+
+    @Test
+    void testGetProductsPage_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> productService.getProductsPage("no-es-un-cursor", 10));
+        verify(productRepository, never()).findPageAfter(any(), any());
+    }
+
+    @Test
+    void testSearchProducts_RankedResultsLoadedInOneQuery() {
+        // Arrange
+        ReflectionTestUtils.setField(productService, "maxSearchLimit", 100);
+        Product laptop = newProduct(1L);
+        laptop.setName("Laptop Gaming");
+        Product sleeve = newProduct(2L);
+        sleeve.setName("Funda");
+        sleeve.setDescription("Funda acolchada para laptop");
+        productSearchIndex.index(sleeve.getId(), sleeve.getName(), sleeve.getDescription());
+        productSearchIndex.index(laptop.getId(), laptop.getName(), laptop.getDescription());
+        when(productRepository.findByIdIn(anyList())).thenReturn(Arrays.asList(sleeve, laptop));
+
+        // Act
+        ProductSearchResultDto result = productService.searchProducts("lapt", 10);
+
+        // Assert
+        assertEquals(2, result.getTotalMatches());
+        assertEquals(1L, result.getItems().get(0).getId());
+        assertEquals(2L, result.getItems().get(1).getId());
+        verify(productRepository, times(1)).findByIdIn(anyList());
+    }
+
+    @Test
+    void testUpdateAndDeleteProduct_KeepSearchIndexInSync() {
+        // Arrange
+        Product product = newProduct(1L);
+        product.setName("Teclado Mecánico");
+        productSearchIndex.index(product.getId(), product.getName(), product.getDescription());
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        productService.updateProduct(1L, new ProductRequestDto("Mouse Inalámbrico", null, BigDecimal.valueOf(19.99), 5));
+        long afterUpdateOldName = productSearchIndex.search("teclado", 10).getTotalMatches();
+        long afterUpdateNewName = productSearchIndex.search("inalambrico", 10).getTotalMatches();
+        productService.deleteProduct(1L);
+
+        // Assert
+        assertEquals(0, afterUpdateOldName);
+        assertEquals(1, afterUpdateNewName);
+        assertEquals(0, productSearchIndex.search("mouse", 10).getTotalMatches());
+        verify(productRepository).delete(product);
+    }
+
     @Test
     void testReduceStock_Success() {
         // Arrange
@@ -207,6 +403,9 @@ class ProductServiceTest {
         // Assert
         assertTrue(result);
         verify(productRepository, times(1)).reduceStock(productId, quantity);
+        verify(outboxService).stockReduced(productId, quantity);
+        assertEquals(1, meterRegistry.get("products.stock.reduce").timer().count());
+        assertEquals(0.0, meterRegistry.get("products.stock.reduce.failed").counter().count());
     }
 
     @Test
@@ -223,5 +422,56 @@ class ProductServiceTest {
         // Assert
         assertFalse(result);
         verify(productRepository, times(1)).reduceStock(productId, quantity);
+        verify(outboxService, never()).stockReduced(any(), any());
+        assertEquals(1.0, meterRegistry.get("products.stock.reduce.failed").counter().count());
+    }
+
+    private Product newProduct(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(BigDecimal.valueOf(10.00));
+        product.setStock(10);
+        return product;
+    }
+
+    @Test
+    void testCatalogVersion_SameOnEveryReplicaWithoutLedger() {
+        // Arrange
+        ProductService replica = newReplica();
+        when(productRepository.findCatalogStamp()).thenReturn(
+            List.<Object[]>of(new Object[] {LocalDateTime.of(2024, 1, 15, 10, 30), 3L}));
+        when(stockLedger.isEnabled()).thenReturn(false);
+
+        // Act
+        String version = productService.getCatalogVersion();
+        String replicaVersion = replica.getCatalogVersion();
+
+        // Assert
+        assertEquals(version, replicaVersion);
+    }
+
+    @Test
+    void testCatalogVersion_PerInstanceWithLedger() {
+        // Arrange
+        ProductService replica = newReplica();
+        when(productRepository.findCatalogStamp()).thenReturn(
+            List.<Object[]>of(new Object[] {LocalDateTime.of(2024, 1, 15, 10, 30), 3L}));
+        when(stockLedger.isEnabled()).thenReturn(true);
+
+        // Act
+        String version = productService.getCatalogVersion();
+        String replicaVersion = replica.getCatalogVersion();
+
+        // Assert
+        assertNotEquals(version, replicaVersion);
+    }
+
+    private ProductService newReplica() {
+        ProductService replica = new ProductService();
+        ReflectionTestUtils.setField(replica, "productRepository", productRepository);
+        ReflectionTestUtils.setField(replica, "stockLedger", stockLedger);
+        ReflectionTestUtils.setField(replica, "productCache", new ProductCache(100, 60));
+        return replica;
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.ProductRequestDto;
+import com.microservices.productservice.dto.StockReservationItemDto;
+import com.microservices.productservice.dto.StockReservationRequestDto;
+import com.microservices.productservice.dto.StockReservationResponseDto;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.repository.StockLedgerDeltaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledgerrecoverytest",
+        "spring.jpa.show-sql=false",
+        "app.stock-ledger.enabled=true",
+        "app.stock-ledger.flush-interval-ms=3600000",
+        "logging.level.com.microservices.productservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class StockLedgerRecoveryTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockLedgerDeltaRepository deltaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReloadAfterCrashKeepsUnflushedReservations() {
+        // Arrange
+        Product product = productRepository.save(new Product("Cámara", null, BigDecimal.TEN, 10));
+        StockReservationResponseDto reservation = reservationService.reserve(new StockReservationRequestDto(
+            List.of(new StockReservationItemDto(product.getId(), 4)), null));
+
+        // Act: reinicio sin flush, el contador en memoria se reconstruye desde la base de datos
+        stockLedger.loadFromDatabase();
+        int stockAfterReload = stockLedger.getAvailableStock(product.getId());
+        reservationService.release(reservation.getReservationId());
+        stockLedger.flush();
+
+        // Assert
+        assertEquals(6, stockAfterReload);
+        assertEquals(10, stockLedger.getAvailableStock(product.getId()));
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+        assertEquals(0, deltaRepository.count());
+    }
+
+    @Test
+    void testUpdateProductAppliesStockOnTopOfPendingDeltas() {
+        // Arrange
+        Product product = productRepository.save(new Product("Trípode", null, BigDecimal.ONE, 10));
+        assertTrue(productService.reduceStock(product.getId(), 3));
+
+        // Act
+        productService.updateProduct(product.getId(),
+            new ProductRequestDto("Trípode", null, BigDecimal.ONE, 20));
+        assertTrue(productService.reduceStock(product.getId(), 2));
+        stockLedger.flush();
+        stockLedger.loadFromDatabase();
+
+        // Assert
+        assertEquals(18, stockLedger.getAvailableStock(product.getId()));
+        assertEquals(18, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void testUpdateProductDoesNotOverwriteStockFlushedMeanwhile() {
+        // Arrange
+        Product product = productRepository.save(new Product("Objetivo", null, BigDecimal.TEN, 10));
+        assertTrue(productService.reduceStock(product.getId(), 3));
+
+        // Act: el producto se carga con stock 10 y el volcado del ledger se confirma antes que la edición
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+            CompletableFuture.runAsync(stockLedger::flush).join();
+            productService.updateProduct(product.getId(),
+                new ProductRequestDto("Objetivo 50mm", null, new BigDecimal("12.00"), 7));
+        });
+        stockLedger.flush();
+
+        // Assert
+        Product updated = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("Objetivo 50mm", updated.getName());
+        assertEquals(7, updated.getStock());
+        assertEquals(7, stockLedger.getAvailableStock(product.getId()));
+    }
+
+    @Test
+    void testReduceStockRolledBackReturnsUnitsToLedger() {
+        // Arrange
+        Product product = productRepository.save(new Product("Flash", null, BigDecimal.ONE, 5));
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertTrue(productService.reduceStock(product.getId(), 2));
+            status.setRollbackOnly();
+        });
+        stockLedger.flush();
+
+        // Assert
+        assertEquals(5, stockLedger.getAvailableStock(product.getId()));
+        assertEquals(5, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,235 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.entity.StockLedgerDelta;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.repository.StockLedgerDeltaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLedgerDeltaRepository deltaRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StockLedger stockLedger;
+
+    // Tabla stock_ledger_deltas simulada: lo que el ledger guarda es lo que el flush lee
+    private final List<StockLedgerDelta> journal = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockLedger, "enabled", true);
+        ReflectionTestUtils.setField(stockLedger, "flushBatchSize", 100000);
+    }
+
+    private void recordJournal() {
+        lenient().when(deltaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StockLedgerDelta> deltas = invocation.getArgument(0);
+            journal.addAll(deltas);
+            return deltas;
+        });
+        lenient().when(deltaRepository.save(any(StockLedgerDelta.class))).thenAnswer(invocation -> {
+            journal.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        lenient().when(deltaRepository.findPending(any())).thenAnswer(invocation -> new ArrayList<>(journal));
+    }
+
+    @Test
+    void testConcurrentReductions_NeverOversellAndFlushCoalescesDeltas() throws Exception {
+        // Arrange
+        recordJournal();
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(1000));
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (stockLedger.tryReduce(1L, 1)) {
+                    succeeded.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        int flushed = stockLedger.flush();
+
+        // Assert
+        assertEquals(1000, succeeded.get());
+        assertEquals(0, stockLedger.getAvailableStock(1L));
+        assertEquals(1, flushed);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batchCaptor.capture());
+        assertEquals(1, batchCaptor.getValue().size());
+        assertArrayEquals(new Object[]{1000, 1L}, batchCaptor.getValue().get(0));
+        assertEquals(1000, journal.size());
+        verify(deltaRepository).deleteAllByIdInBatch(anyList());
+        verify(productRepository, times(1)).findStockById(1L);
+    }
+
+    @Test
+    void testTryReduceAll_RollsBackEarlierLinesWhenOneFails() {
+        // Arrange
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(5));
+        when(productRepository.findStockById(2L)).thenReturn(Optional.of(1));
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        quantities.put(1L, 3);
+        quantities.put(2L, 2);
+
+        // Act
+        Long rejected = stockLedger.tryReduceAll(quantities);
+
+        // Assert
+        assertEquals(2L, rejected);
+        assertEquals(5, stockLedger.getAvailableStock(1L));
+        assertEquals(1, stockLedger.getAvailableStock(2L));
+        verify(deltaRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testFlushFailure_KeepsDeltasForNextCycle() {
+        // Arrange
+        recordJournal();
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new IllegalStateException("DB no disponible"))
+            .thenReturn(new int[]{1});
+
+        stockLedger.tryReduce(1L, 4);
+
+        // Act
+        int firstFlush = stockLedger.flush();
+        int secondFlush = stockLedger.flush();
+
+        // Assert
+        assertEquals(0, firstFlush);
+        assertEquals(1, secondFlush);
+        verify(transactionManager).rollback(any());
+        verify(deltaRepository, times(1)).deleteAllByIdInBatch(anyList());
+        verify(jdbcTemplate, times(2)).batchUpdate(eq("UPDATE products SET stock = stock - ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?"), anyList());
+    }
+
+    @Test
+    void testRestore_RecordsNegativeDeltaThatOffsetsReduction() {
+        // Arrange
+        recordJournal();
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        stockLedger.tryReduce(1L, 4);
+
+        // Act
+        stockLedger.restore(1L, 4);
+        int flushed = stockLedger.flush();
+
+        // Assert
+        assertEquals(10, stockLedger.getAvailableStock(1L));
+        assertEquals(0, flushed);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(deltaRepository).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void testReset_AdjustsInPlaceWithoutLosingConcurrentReductions() {
+        // Arrange
+        recordJournal();
+        when(productRepository.findStockById(1L)).thenReturn(Optional.of(10));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        stockLedger.tryReduce(1L, 3);
+
+        // Act
+        stockLedger.reset(1L, 20);
+        stockLedger.tryReduce(1L, 2);
+        stockLedger.flush();
+
+        // Assert
+        assertEquals(18, stockLedger.getAvailableStock(1L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        // 10 persistidas - (3 - 13 + 2) = 18
+        assertArrayEquals(new Object[]{-8, 1L}, batchCaptor.getValue().get(0));
+    }
+
+    @Test
+    void testLoadFromDatabase_UsesStockNetOfUnappliedDeltas() {
+        // Arrange
+        List<Object[]> stocks = new ArrayList<>();
+        stocks.add(new Object[]{1L, 6});
+        when(productRepository.findAllStocks()).thenReturn(stocks);
+
+        // Act
+        stockLedger.loadFromDatabase();
+
+        // Assert
+        assertEquals(6, stockLedger.getLoadedStock(1L));
+        verify(productRepository, never()).findStockById(anyLong());
+    }
+
+    @Test
+    void testUnknownProduct_IsNotAvailable() {
+        // Arrange
+        when(productRepository.findStockById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(stockLedger.tryReduce(999L, 1));
+        assertNull(stockLedger.getAvailableStock(999L));
+    }
+}
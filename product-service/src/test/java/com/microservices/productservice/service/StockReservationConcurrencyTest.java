@@ -0,0 +1,164 @@
+package com.microservices.productservice.service;
+
+import com.microservices.productservice.dto.StockReservationItemDto;
+import com.microservices.productservice.dto.StockReservationRequestDto;
+import com.microservices.productservice.dto.StockReservationResponseDto;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.exception.InsufficientStockException;
+import com.microservices.productservice.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservationtest;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.microservices.productservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class StockReservationConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int RESERVATIONS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testConcurrentReservationsOnHotProduct_NeverOversell() throws Exception {
+        // Arrange
+        Product hotProduct = productRepository.save(
+            new Product("Hot SKU", "Producto en oferta relámpago", BigDecimal.valueOf(9.99), INITIAL_STOCK));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<String> reservationIds = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < RESERVATIONS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    StockReservationResponseDto reservation = reservationService.reserve(new StockReservationRequestDto(
+                        List.of(new StockReservationItemDto(hotProduct.getId(), 1)), null));
+                    reservationIds.add(reservation.getReservationId());
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int remainingStock = productRepository.findById(hotProduct.getId()).orElseThrow().getStock();
+        assertEquals(0, remainingStock);
+        assertEquals(INITIAL_STOCK, reservationIds.size());
+        assertEquals(RESERVATIONS - INITIAL_STOCK, rejected.get());
+        assertEquals(INITIAL_STOCK, reservationIds.stream().distinct().count());
+    }
+
+    @Test
+    void testMultiItemReservation_AllOrNothing() {
+        // Arrange
+        Product available = productRepository.save(
+            new Product("Disponible", null, BigDecimal.TEN, 5));
+        Product soldOut = productRepository.save(
+            new Product("Agotado", null, BigDecimal.TEN, 0));
+
+        StockReservationRequestDto request = new StockReservationRequestDto(Arrays.asList(
+            new StockReservationItemDto(available.getId(), 2),
+            new StockReservationItemDto(soldOut.getId(), 1)
+        ), null);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> reservationService.reserve(request));
+        assertEquals(5, productRepository.findById(available.getId()).orElseThrow().getStock());
+        assertEquals(0, productRepository.findById(soldOut.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void testReleaseRestoresStockAndConfirmKeepsIt() {
+        // Arrange
+        Product product = productRepository.save(
+            new Product("Reservable", null, BigDecimal.TEN, 10));
+        StockReservationRequestDto request = new StockReservationRequestDto(
+            List.of(new StockReservationItemDto(product.getId(), 4)), 60);
+
+        // Act
+        StockReservationResponseDto released = reservationService.reserve(request);
+        reservationService.release(released.getReservationId());
+        StockReservationResponseDto confirmed = reservationService.reserve(request);
+        StockReservationResponseDto confirmation = reservationService.confirm(confirmed.getReservationId());
+
+        // Assert
+        assertEquals("RELEASED", reservationService.getReservation(released.getReservationId()).getStatus());
+        assertEquals("CONFIRMED", confirmation.getStatus());
+        assertEquals(6, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void testRetriedReservationWithClientId_ReservesOnce() {
+        // Arrange
+        Product product = productRepository.save(
+            new Product("Reintentable", null, BigDecimal.TEN, 10));
+        StockReservationRequestDto request = new StockReservationRequestDto("order-retry-1",
+            List.of(new StockReservationItemDto(product.getId(), 3)), 60);
+
+        // Act: la primera respuesta se perdió por timeout y el cliente repite la petición
+        StockReservationResponseDto first = reservationService.reserve(request);
+        StockReservationResponseDto retried = reservationService.reserve(request);
+
+        // Assert
+        assertEquals("order-retry-1", first.getReservationId());
+        assertEquals("order-retry-1", retried.getReservationId());
+        assertEquals("ACTIVE", retried.getStatus());
+        assertEquals(7, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void testReleaseBeforeLateReservation_LateReservationTakesNoStock() {
+        // Arrange
+        Product product = productRepository.save(
+            new Product("Tardío", null, BigDecimal.TEN, 10));
+
+        // Act: el cliente libera tras un timeout antes de que la reserva llegue a registrarse
+        StockReservationResponseDto released = reservationService.release("order-late-1");
+        StockReservationResponseDto late = reservationService.reserve(new StockReservationRequestDto("order-late-1",
+            List.of(new StockReservationItemDto(product.getId(), 4)), 60));
+
+        // Assert
+        assertEquals("RELEASED", released.getStatus());
+        assertEquals("RELEASED", late.getStatus());
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+}
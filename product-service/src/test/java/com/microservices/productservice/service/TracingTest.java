@@ -0,0 +1,78 @@
+package com.microservices.productservice.service;
+
+import brave.handler.MutableSpan;
+import com.microservices.productservice.entity.Product;
+import com.microservices.productservice.repository.ProductRepository;
+import com.microservices.productservice.tracing.InMemorySpanHandler;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracingtest",
+        "spring.jpa.show-sql=false",
+        "management.tracing.sampling.probability=1.0",
+        "app.tracing.exporter=memory",
+        "logging.level.com.microservices.productservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    }
+)
+class TracingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private InMemorySpanHandler spanHandler;
+
+    @Test
+    void testRepositoryCallsAreChildSpansOfCurrentTrace() {
+        // Arrange
+        Product product = productRepository.save(new Product("Trazado", null, BigDecimal.TEN, 5));
+
+        // Act
+        Span parent = tracer.nextSpan().name("checkout").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            productService.getProductById(product.getId());
+        } finally {
+            parent.end();
+        }
+
+        // Assert
+        List<MutableSpan> spans = spanHandler.getSpans(parent.context().traceId());
+        MutableSpan repositorySpan = spans.stream()
+            .filter(span -> "ProductRepository.findById".equalsIgnoreCase(span.name()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Sin span de repositorio: " + spans));
+        assertEquals(parent.context().spanId(), repositorySpan.parentId());
+        assertTrue(repositorySpan.finishTimestamp() >= repositorySpan.startTimestamp());
+    }
+
+    @Test
+    void testRepositoryCallsOutsideTraceOpenNoSpan() {
+        // Arrange
+        int before = spanHandler.getSpans().size();
+
+        // Act
+        productRepository.count();
+
+        // Assert
+        assertEquals(before, spanHandler.getSpans().size());
+    }
+}